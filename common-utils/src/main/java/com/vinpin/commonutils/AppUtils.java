@@ -9,6 +9,8 @@ import android.content.Intent;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageInfo;
 import android.content.pm.PackageManager;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.os.Build;
@@ -80,6 +82,26 @@ public final class AppUtils {
         }
     }
 
+    /**
+     * 获取App图标位图
+     * <p>图标绘制到取自{@link BitmapPool#getDefault()}的位图中，不再使用时可调用{@link BitmapPool#put(Bitmap)}交还复用</p>
+     *
+     * @param size 边长（单位：px）
+     * @return App图标位图
+     */
+    public static Bitmap getAppIconBitmap(final int size) {
+        Drawable icon = getAppIcon();
+        if (icon == null) {
+            return null;
+        }
+        Bitmap bitmap = BitmapPool.getDefault().get(size, size, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        icon.setBounds(0, 0, size, size);
+        icon.draw(canvas);
+        canvas.setBitmap(null);
+        return bitmap;
+    }
+
     /**
      * 获取App版本号
      *
@@ -0,0 +1,132 @@
+package com.vinpin.commonutils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量校验，见{@link RegexUtils#validate(List, int)}
+ * <p>
+ * 数量较多时按CPU核数分段，由线程池与调用线程并行校验，各段结果写入同一个boolean数组的不同区间，
+ * 全部完成后再合成{@link BitSet}。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class BatchValidator {
+
+    /**
+     * 少于该数量时在调用线程中逐个校验
+     */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+    private BatchValidator() {
+        throw new UnsupportedOperationException("u can't instantiate me...");
+    }
+
+    /**
+     * 单个输入的校验方式
+     */
+    interface Checker {
+        boolean check(CharSequence input);
+    }
+
+    static BitSet validate(final List<? extends CharSequence> inputs, final Checker checker) {
+        final CharSequence[] array = inputs.toArray(new CharSequence[inputs.size()]);
+        final boolean[] results = new boolean[array.length];
+        int parts = Math.min(THREADS, array.length / (PARALLEL_THRESHOLD / 2));
+        if (array.length < PARALLEL_THRESHOLD || parts < 2) {
+            check(array, 0, array.length, checker, results);
+        } else {
+            List<Future<?>> futures = new ArrayList<>(parts - 1);
+            int step = (array.length + parts - 1) / parts;
+            for (int from = step; from < array.length; from += step) {
+                final int start = from;
+                final int end = Math.min(array.length, from + step);
+                futures.add(ExecutorHolder.EXECUTOR.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        check(array, start, end, checker, results);
+                    }
+                }));
+            }
+            // 调用线程处理第一段
+            check(array, 0, step, checker, results);
+            await(futures);
+        }
+        BitSet bits = new BitSet(array.length);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i]) {
+                bits.set(i);
+            }
+        }
+        return bits;
+    }
+
+    private static void check(final CharSequence[] inputs, final int start, final int end, final Checker checker,
+                              final boolean[] results) {
+        for (int i = start; i < end; i++) {
+            CharSequence input = inputs[i];
+            results[i] = input != null && input.length() != 0 && checker.check(input);
+        }
+    }
+
+    private static void await(final List<Future<?>> futures) {
+        boolean interrupted = false;
+        try {
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get();
+                        break;
+                    } catch (InterruptedException e) {
+                        // 各段很快就会完成，等待结束后再恢复中断状态
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw (RuntimeException) cause;
+                    }
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 批量校验的线程池，线程数为CPU核数，空闲30秒后回收
+     */
+    private static final class ExecutorHolder {
+
+        static final ThreadPoolExecutor EXECUTOR;
+
+        static {
+            EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread thread = new Thread(r, "RegexUtils-batch-" + mCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+}
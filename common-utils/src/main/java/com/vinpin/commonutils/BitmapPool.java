@@ -0,0 +1,411 @@
+package com.vinpin.commonutils;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 位图复用池
+ * <p>
+ * 按字节数与格式分组保存不再使用的位图，供截屏、绘制与解码（{@link BitmapFactory.Options#inBitmap}）复用，
+ * 减少大块内存的分配与GC。总字节数超过上限时按分组淘汰最久未使用的位图。
+ * <p>
+ * Android 4.4及以上可复用字节数不小于所需大小的位图并重新设置宽高与格式；更低版本只复用宽高与格式完全相同的位图。
+ * {@link Utils#init(android.app.Application)}后，默认实例会在系统内存紧张时自动缩减。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class BitmapPool {
+
+    /**
+     * 复用时允许的最大字节数倍数，避免用很大的位图承载很小的图像
+     */
+    private static final int MAX_SIZE_MULTIPLE = 8;
+
+    private static volatile BitmapPool sDefault;
+
+    static final ComponentCallbacks2 CALLBACKS = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            BitmapPool pool = sDefault;
+            if (pool != null) {
+                pool.trimMemory(level);
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            BitmapPool pool = sDefault;
+            if (pool != null) {
+                pool.clear();
+            }
+        }
+    };
+
+    private final long mMaxSize;
+    /**
+     * 各分组的位图，按访问顺序排列，最久未使用的分组在最前
+     */
+    private final LinkedHashMap<Key, ArrayDeque<Bitmap>> mGroups = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * 各格式已保存位图的字节数及个数，用于查找不小于所需大小的分组
+     */
+    private final Map<Bitmap.Config, TreeMap<Integer, Integer>> mSizes = new HashMap<>();
+    /**
+     * 池中的位图，避免同一位图重复放入后被交给多个使用方
+     */
+    private final Set<Bitmap> mPooled = Collections.newSetFromMap(new IdentityHashMap<Bitmap, Boolean>());
+    private long mCurrentSize;
+    private int mHitCount;
+    private int mMissCount;
+    private int mPutCount;
+    private int mEvictionCount;
+
+    /**
+     * 创建位图复用池
+     *
+     * @param maxSize 保存的位图总字节数上限
+     */
+    public BitmapPool(final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * 获取默认实例，上限为最大可用内存的1/8
+     *
+     * @return 默认实例
+     */
+    public static BitmapPool getDefault() {
+        BitmapPool pool = sDefault;
+        if (pool == null) {
+            synchronized (BitmapPool.class) {
+                pool = sDefault;
+                if (pool == null) {
+                    pool = new BitmapPool(Runtime.getRuntime().maxMemory() / 8);
+                    sDefault = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * 获取指定宽高与格式的位图，内容已清空为透明
+     * <p>池中没有合适的位图时创建新的位图</p>
+     *
+     * @param width  宽度
+     * @param height 高度
+     * @param config 格式
+     * @return 位图
+     */
+    @NonNull
+    public Bitmap get(final int width, final int height, @NonNull final Bitmap.Config config) {
+        Bitmap bitmap = getDirty(width, height, config);
+        if (bitmap == null) {
+            return Bitmap.createBitmap(width, height, config);
+        }
+        bitmap.eraseColor(Color.TRANSPARENT);
+        return bitmap;
+    }
+
+    /**
+     * 获取指定宽高与格式的位图，内容未清空，适合随后完全覆盖的场景（如解码）
+     *
+     * @param width  宽度
+     * @param height 高度
+     * @param config 格式
+     * @return 位图，池中没有合适的位图时返回null
+     */
+    @Nullable
+    public Bitmap getDirty(final int width, final int height, @NonNull final Bitmap.Config config) {
+        Bitmap bitmap;
+        synchronized (this) {
+            Key key = findKey(width, height, config);
+            bitmap = key != null ? remove(key) : null;
+            if (bitmap == null) {
+                mMissCount++;
+                return null;
+            }
+            mHitCount++;
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            bitmap.reconfigure(width, height, config);
+        }
+        return bitmap;
+    }
+
+    /**
+     * 为解码设置可复用的位图
+     * <p>需先以{@link BitmapFactory.Options#inJustDecodeBounds}解码获取宽高，并设置好inSampleSize；
+     * Android 4.4以下只支持inSampleSize为1的复用</p>
+     *
+     * @param options 解码参数
+     * @return {@code true}: 已设置inBitmap<br>{@code false}: 池中没有合适的位图
+     */
+    public boolean prepareForDecode(@NonNull final BitmapFactory.Options options) {
+        int sampleSize = Math.max(1, options.inSampleSize);
+        if (options.outWidth <= 0 || options.outHeight <= 0
+                || (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT && sampleSize != 1)) {
+            return false;
+        }
+        Bitmap.Config config = options.inPreferredConfig != null ? options.inPreferredConfig : Bitmap.Config.ARGB_8888;
+        int width = (options.outWidth + sampleSize - 1) / sampleSize;
+        int height = (options.outHeight + sampleSize - 1) / sampleSize;
+        Bitmap bitmap = getDirty(width, height, config);
+        if (bitmap == null) {
+            return false;
+        }
+        options.inMutable = true;
+        options.inBitmap = bitmap;
+        return true;
+    }
+
+    /**
+     * 将不再使用的位图放入池中
+     * <p>放入后不能再使用该位图；不可复用的位图（已回收、不可修改或超过上限）会被直接回收，
+     * 已在池中的位图再次放入时忽略</p>
+     *
+     * @param bitmap 位图
+     */
+    public void put(@Nullable final Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        Bitmap.Config config = bitmap.getConfig();
+        int size = byteSizeOf(bitmap);
+        if (!bitmap.isMutable() || config == null || size > mMaxSize) {
+            bitmap.recycle();
+            return;
+        }
+        Key key = Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT
+                ? new Key(size, 0, 0, config) : new Key(size, bitmap.getWidth(), bitmap.getHeight(), config);
+        synchronized (this) {
+            if (!mPooled.add(bitmap)) {
+                return;
+            }
+            ArrayDeque<Bitmap> group = mGroups.get(key);
+            if (group == null) {
+                group = new ArrayDeque<>();
+                mGroups.put(key, group);
+            }
+            group.push(bitmap);
+            TreeMap<Integer, Integer> sizes = mSizes.get(config);
+            if (sizes == null) {
+                sizes = new TreeMap<>();
+                mSizes.put(config, sizes);
+            }
+            Integer count = sizes.get(size);
+            sizes.put(size, count == null ? 1 : count + 1);
+            mCurrentSize += size;
+            mPutCount++;
+            trimToSize(mMaxSize);
+        }
+    }
+
+    /**
+     * 按系统内存状况缩减
+     *
+     * @param level {@link ComponentCallbacks2#onTrimMemory(int)}的级别
+     */
+    public void trimMemory(final int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            clear();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            synchronized (this) {
+                trimToSize(mMaxSize / 2);
+            }
+        }
+    }
+
+    /**
+     * 回收池中所有位图，统计数据保留
+     */
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    /**
+     * 获取池中位图的总字节数
+     *
+     * @return 字节数
+     */
+    public synchronized long getCurrentSize() {
+        return mCurrentSize;
+    }
+
+    /**
+     * 获取总字节数上限
+     *
+     * @return 字节数
+     */
+    public long getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * 获取命中次数
+     */
+    public synchronized int hitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     */
+    public synchronized int missCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 获取放入次数
+     */
+    public synchronized int putCount() {
+        return mPutCount;
+    }
+
+    /**
+     * 获取淘汰次数
+     */
+    public synchronized int evictionCount() {
+        return mEvictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        int accesses = mHitCount + mMissCount;
+        int hitPercent = accesses != 0 ? (100 * mHitCount / accesses) : 0;
+        return "BitmapPool[maxSize=" + mMaxSize + ",currentSize=" + mCurrentSize + ",hits=" + mHitCount
+                + ",misses=" + mMissCount + ",puts=" + mPutCount + ",evictions=" + mEvictionCount
+                + ",hitRate=" + hitPercent + "%]";
+    }
+
+    private Key findKey(final int width, final int height, final Bitmap.Config config) {
+        int required = width * height * bytesPerPixel(config);
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.KITKAT) {
+            return new Key(required, width, height, config);
+        }
+        TreeMap<Integer, Integer> sizes = mSizes.get(config);
+        if (sizes == null) {
+            return null;
+        }
+        Integer size = sizes.ceilingKey(required);
+        if (size == null || size > (long) required * MAX_SIZE_MULTIPLE) {
+            return null;
+        }
+        return new Key(size, 0, 0, config);
+    }
+
+    private Bitmap remove(final Key key) {
+        ArrayDeque<Bitmap> group = mGroups.get(key);
+        if (group == null) {
+            return null;
+        }
+        Bitmap bitmap = group.pop();
+        mPooled.remove(bitmap);
+        if (group.isEmpty()) {
+            mGroups.remove(key);
+        }
+        TreeMap<Integer, Integer> sizes = mSizes.get(key.config);
+        int count = sizes.get(key.size);
+        if (count == 1) {
+            sizes.remove(key.size);
+        } else {
+            sizes.put(key.size, count - 1);
+        }
+        mCurrentSize -= key.size;
+        return bitmap;
+    }
+
+    private void trimToSize(final long maxSize) {
+        Iterator<Map.Entry<Key, ArrayDeque<Bitmap>>> it = mGroups.entrySet().iterator();
+        while (mCurrentSize > maxSize && it.hasNext()) {
+            Key key = it.next().getKey();
+            // 从最久未使用的分组开始，逐个回收组内的位图
+            while (mCurrentSize > maxSize && mGroups.containsKey(key)) {
+                remove(key).recycle();
+                mEvictionCount++;
+            }
+            it = mGroups.entrySet().iterator();
+        }
+    }
+
+    private static int byteSizeOf(final Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+        return bitmap.getByteCount();
+    }
+
+    static int bytesPerPixel(final Bitmap.Config config) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O && config == Bitmap.Config.RGBA_F16) {
+            return 8;
+        }
+        if (config == Bitmap.Config.ALPHA_8) {
+            return 1;
+        }
+        if (config == Bitmap.Config.RGB_565 || config == Bitmap.Config.ARGB_4444) {
+            return 2;
+        }
+        return 4;
+    }
+
+    /**
+     * 分组：Android 4.4及以上按字节数与格式，更低版本按宽高与格式
+     */
+    private static final class Key {
+
+        final int size;
+        final int width;
+        final int height;
+        final Bitmap.Config config;
+
+        Key(final int size, final int width, final int height, final Bitmap.Config config) {
+            this.size = size;
+            this.width = width;
+            this.height = height;
+            this.config = config;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return size == key.size && width == key.width && height == key.height && config == key.config;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = size;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + config.hashCode();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.vinpin.commonutils;
+
+import java.util.TimeZone;
+
+/**
+ * 默认时区的快照
+ * <p>
+ * {@link TimeZone#getDefault()}每次调用都会加锁并复制时区，格式化等高频调用改为读取这里的快照（一次volatile读）。
+ * 快照不可变，默认时区变化时整体替换，缓存方保存快照并按引用比较即可判断时区是否变化。
+ * <p>
+ * {@link Utils#init(android.app.Application)}后收到系统时区变更广播时自动更新；
+ * 进程内调用{@link TimeZone#setDefault(TimeZone)}后需调用{@link TimeUtils#refreshTimeZone()}。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class DefaultTimeZone {
+
+    private static volatile DefaultTimeZone sCurrent = new DefaultTimeZone(TimeZone.getDefault());
+
+    /**
+     * 时区，多个缓存共享，不能修改
+     */
+    final TimeZone timeZone;
+
+    private DefaultTimeZone(final TimeZone timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    /**
+     * 获取当前快照
+     *
+     * @return 快照
+     */
+    static DefaultTimeZone current() {
+        return sCurrent;
+    }
+
+    /**
+     * 重新读取默认时区并替换快照
+     */
+    static void refresh() {
+        sCurrent = new DefaultTimeZone(TimeZone.getDefault());
+    }
+}
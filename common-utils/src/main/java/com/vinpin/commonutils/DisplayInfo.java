@@ -0,0 +1,124 @@
+package com.vinpin.commonutils;
+
+import android.app.Application;
+import android.content.ComponentCallbacks;
+import android.content.res.Configuration;
+import android.util.DisplayMetrics;
+
+/**
+ * 屏幕密度与尺寸的快照
+ * <p>
+ * 首次使用时从{@link DisplayMetrics}复制，之后直接读取字段；
+ * 配置变化（旋转、字体缩放、密度、分屏等）时由{@link Utils#init(Application)}注册的回调作废，下次使用时重新获取。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class DisplayInfo {
+
+    /**
+     * 查表转换的最大dp值
+     */
+    static final int DP_TABLE_MAX = 1024;
+
+    private static final Object LOCK = new Object();
+    private static volatile DisplayInfo sCurrent;
+    /**
+     * 每次配置变化加1，避免变化前读取的旧数据覆盖作废
+     */
+    private static int sVersion;
+
+    private static final ComponentCallbacks CALLBACKS = new ComponentCallbacks() {
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+            invalidate();
+        }
+
+        @Override
+        public void onLowMemory() {
+        }
+    };
+
+    final float density;
+    final float scaledDensity;
+    final int densityDpi;
+    final float xdpi;
+    final float ydpi;
+    final int widthPixels;
+    final int heightPixels;
+    /**
+     * 整数dp对应的px，首次使用时创建
+     */
+    private volatile int[] mDpTable;
+
+    private DisplayInfo(final DisplayMetrics dm) {
+        density = dm.density;
+        scaledDensity = dm.scaledDensity;
+        densityDpi = dm.densityDpi;
+        xdpi = dm.xdpi;
+        ydpi = dm.ydpi;
+        widthPixels = dm.widthPixels;
+        heightPixels = dm.heightPixels;
+    }
+
+    /**
+     * 获取当前的快照
+     *
+     * @return 快照
+     */
+    static DisplayInfo get() {
+        DisplayInfo info = sCurrent;
+        if (info == null) {
+            int version;
+            synchronized (LOCK) {
+                version = sVersion;
+            }
+            info = new DisplayInfo(Utils.getApp().getResources().getDisplayMetrics());
+            synchronized (LOCK) {
+                if (version == sVersion) {
+                    sCurrent = info;
+                }
+            }
+        }
+        return info;
+    }
+
+    private static void invalidate() {
+        synchronized (LOCK) {
+            sVersion++;
+            sCurrent = null;
+        }
+    }
+
+    /**
+     * dp转px，结果与{@code (int) (dp * density + 0.5f)}相同
+     * <p>0至{@value #DP_TABLE_MAX}的整数查表获取</p>
+     *
+     * @param dp dp值
+     * @return px值
+     */
+    int dp2px(final int dp) {
+        if (dp >= 0 && dp <= DP_TABLE_MAX) {
+            int[] table = mDpTable;
+            if (table == null) {
+                table = new int[DP_TABLE_MAX + 1];
+                for (int i = 0; i <= DP_TABLE_MAX; i++) {
+                    table[i] = (int) (i * density + 0.5f);
+                }
+                mDpTable = table;
+            }
+            return table[dp];
+        }
+        return (int) (dp * density + 0.5f);
+    }
+
+    /**
+     * 监听配置变化
+     *
+     * @param app 应用
+     */
+    static void register(final Application app) {
+        app.registerComponentCallbacks(CALLBACKS);
+        invalidate();
+    }
+}
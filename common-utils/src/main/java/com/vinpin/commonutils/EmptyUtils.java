@@ -8,22 +8,210 @@ import android.util.SparseBooleanArray;
 import android.util.SparseIntArray;
 import android.util.SparseLongArray;
 
-import java.lang.reflect.Array;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 判空相关工具类
+ * <p>
+ * 已知类型的重载在编译期确定，直接判断；{@link #isEmpty(Object)}按对象的实际类型查找判空方式，
+ * 每个类型只查找一次，之后从缓存中获取。
+ * <p>
+ * 注意：直接传入null字面量（如{@code isEmpty(null)}）时重载不明确，需写作{@code isEmpty((Object) null)}；
+ * 任意长度为0的{@link CharSequence}均判断为空，不再只限于{@link String}。
  *
  * @author zwp
  * create at 2017/8/15 10:00
  */
 public final class EmptyUtils {
 
+    /**
+     * 不是容器的类型，非null即为非空
+     */
+    private static final EmptyStrategy<Object> NOT_CONTAINER = new EmptyStrategy<Object>() {
+        @Override
+        public boolean isEmpty(Object obj) {
+            return false;
+        }
+    };
+
+    /**
+     * 内置的判空方式，按顺序匹配
+     */
+    private static final List<Entry> BUILT_IN = new ArrayList<>();
+    /**
+     * 自定义的判空方式，优先于内置的判空方式
+     */
+    private static final List<Entry> CUSTOM = new ArrayList<>();
+    /**
+     * 各类型对应的判空方式
+     */
+    private static final ConcurrentHashMap<Class<?>, EmptyStrategy<Object>> STRATEGIES = new ConcurrentHashMap<>();
+
+    static {
+        BUILT_IN.add(new Entry(CharSequence.class, new EmptyStrategy<CharSequence>() {
+            @Override
+            public boolean isEmpty(CharSequence obj) {
+                return obj.length() == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(Object[].class, new EmptyStrategy<Object[]>() {
+            @Override
+            public boolean isEmpty(Object[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(int[].class, new EmptyStrategy<int[]>() {
+            @Override
+            public boolean isEmpty(int[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(long[].class, new EmptyStrategy<long[]>() {
+            @Override
+            public boolean isEmpty(long[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(byte[].class, new EmptyStrategy<byte[]>() {
+            @Override
+            public boolean isEmpty(byte[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(char[].class, new EmptyStrategy<char[]>() {
+            @Override
+            public boolean isEmpty(char[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(short[].class, new EmptyStrategy<short[]>() {
+            @Override
+            public boolean isEmpty(short[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(float[].class, new EmptyStrategy<float[]>() {
+            @Override
+            public boolean isEmpty(float[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(double[].class, new EmptyStrategy<double[]>() {
+            @Override
+            public boolean isEmpty(double[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(boolean[].class, new EmptyStrategy<boolean[]>() {
+            @Override
+            public boolean isEmpty(boolean[] obj) {
+                return obj.length == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(Collection.class, new EmptyStrategy<Collection>() {
+            @Override
+            public boolean isEmpty(Collection obj) {
+                return obj.isEmpty();
+            }
+        }));
+        BUILT_IN.add(new Entry(Map.class, new EmptyStrategy<Map>() {
+            @Override
+            public boolean isEmpty(Map obj) {
+                return obj.isEmpty();
+            }
+        }));
+        BUILT_IN.add(new Entry(SimpleArrayMap.class, new EmptyStrategy<SimpleArrayMap>() {
+            @Override
+            public boolean isEmpty(SimpleArrayMap obj) {
+                return obj.isEmpty();
+            }
+        }));
+        BUILT_IN.add(new Entry(SparseArray.class, new EmptyStrategy<SparseArray>() {
+            @Override
+            public boolean isEmpty(SparseArray obj) {
+                return obj.size() == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(SparseBooleanArray.class, new EmptyStrategy<SparseBooleanArray>() {
+            @Override
+            public boolean isEmpty(SparseBooleanArray obj) {
+                return obj.size() == 0;
+            }
+        }));
+        BUILT_IN.add(new Entry(SparseIntArray.class, new EmptyStrategy<SparseIntArray>() {
+            @Override
+            public boolean isEmpty(SparseIntArray obj) {
+                return obj.size() == 0;
+            }
+        }));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            BUILT_IN.add(new Entry(SparseLongArray.class, new EmptyStrategy<SparseLongArray>() {
+                @Override
+                public boolean isEmpty(SparseLongArray obj) {
+                    return obj.size() == 0;
+                }
+            }));
+        }
+        BUILT_IN.add(new Entry(LongSparseArray.class, new EmptyStrategy<LongSparseArray>() {
+            @Override
+            public boolean isEmpty(LongSparseArray obj) {
+                return obj.size() == 0;
+            }
+        }));
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            BUILT_IN.add(new Entry(android.util.LongSparseArray.class,
+                    new EmptyStrategy<android.util.LongSparseArray>() {
+                        @Override
+                        public boolean isEmpty(android.util.LongSparseArray obj) {
+                            return obj.size() == 0;
+                        }
+                    }));
+        }
+    }
+
     private EmptyUtils() {
         throw new UnsupportedOperationException("u can't instantiate me");
     }
 
+    /**
+     * 判空方式
+     *
+     * @param <T> 容器类型
+     */
+    public interface EmptyStrategy<T> {
+        /**
+         * 判断容器是否为空
+         *
+         * @param obj 容器，不为null
+         * @return {@code true}: 为空<br>{@code false}: 不为空
+         */
+        boolean isEmpty(T obj);
+    }
+
+    /**
+     * 注册自定义容器类型的判空方式
+     * <p>对该类型及其子类生效，优先于内置的判空方式；同一类型重复注册时后注册的生效</p>
+     *
+     * @param type     容器类型
+     * @param strategy 判空方式
+     */
+    public static <T> void register(final Class<T> type, final EmptyStrategy<? super T> strategy) {
+        synchronized (CUSTOM) {
+            for (int i = CUSTOM.size() - 1; i >= 0; i--) {
+                if (CUSTOM.get(i).type == type) {
+                    CUSTOM.remove(i);
+                }
+            }
+            CUSTOM.add(0, new Entry(type, strategy));
+            // 已缓存的子类可能需要改用新的判空方式
+            STRATEGIES.clear();
+        }
+    }
+
     /**
      * 判断对象是否为空
      *
@@ -34,44 +222,195 @@ public final class EmptyUtils {
         if (obj == null) {
             return true;
         }
-        if (obj instanceof String && obj.toString().length() == 0) {
-            return true;
-        }
-        if (obj.getClass().isArray() && Array.getLength(obj) == 0) {
-            return true;
-        }
-        if (obj instanceof Collection && ((Collection) obj).isEmpty()) {
-            return true;
-        }
-        if (obj instanceof Map && ((Map) obj).isEmpty()) {
-            return true;
-        }
-        if (obj instanceof SimpleArrayMap && ((SimpleArrayMap) obj).isEmpty()) {
-            return true;
+        Class<?> type = obj.getClass();
+        EmptyStrategy<Object> strategy = STRATEGIES.get(type);
+        if (strategy == null) {
+            strategy = resolve(type);
         }
-        if (obj instanceof SparseArray && ((SparseArray) obj).size() == 0) {
-            return true;
-        }
-        if (obj instanceof SparseBooleanArray && ((SparseBooleanArray) obj).size() == 0) {
-            return true;
-        }
-        if (obj instanceof SparseIntArray && ((SparseIntArray) obj).size() == 0) {
-            return true;
-        }
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
-            if (obj instanceof SparseLongArray && ((SparseLongArray) obj).size() == 0) {
-                return true;
+        return strategy.isEmpty(obj);
+    }
+
+    private static EmptyStrategy<Object> resolve(final Class<?> type) {
+        synchronized (CUSTOM) {
+            EmptyStrategy<Object> strategy = find(CUSTOM, type);
+            if (strategy == null) {
+                strategy = find(BUILT_IN, type);
             }
+            if (strategy == null) {
+                strategy = NOT_CONTAINER;
+            }
+            STRATEGIES.put(type, strategy);
+            return strategy;
         }
-        if (obj instanceof LongSparseArray && ((LongSparseArray) obj).size() == 0) {
-            return true;
-        }
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
-            if (obj instanceof android.util.LongSparseArray && ((android.util.LongSparseArray) obj).size() == 0) {
-                return true;
+    }
+
+    private static EmptyStrategy<Object> find(final List<Entry> entries, final Class<?> type) {
+        for (Entry entry : entries) {
+            if (entry.type.isAssignableFrom(type)) {
+                return entry.strategy;
             }
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * 判断字符串是否为空
+     *
+     * @param s 字符串
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(CharSequence s) {
+        return s == null || s.length() == 0;
+    }
+
+    /**
+     * 判断集合是否为空
+     *
+     * @param collection 集合
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(Collection<?> collection) {
+        return collection == null || collection.isEmpty();
+    }
+
+    /**
+     * 判断Map是否为空
+     *
+     * @param map Map
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(Map<?, ?> map) {
+        return map == null || map.isEmpty();
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(Object[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(int[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(long[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(byte[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(char[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(short[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(float[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(double[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断数组是否为空
+     *
+     * @param array 数组
+     * @return {@code true}: 为null或长度为0<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(boolean[] array) {
+        return array == null || array.length == 0;
+    }
+
+    /**
+     * 判断SparseArray是否为空
+     *
+     * @param array SparseArray
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(SparseArray<?> array) {
+        return array == null || array.size() == 0;
+    }
+
+    /**
+     * 判断SparseBooleanArray是否为空
+     *
+     * @param array SparseBooleanArray
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(SparseBooleanArray array) {
+        return array == null || array.size() == 0;
+    }
+
+    /**
+     * 判断SparseIntArray是否为空
+     *
+     * @param array SparseIntArray
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(SparseIntArray array) {
+        return array == null || array.size() == 0;
+    }
+
+    /**
+     * 判断LongSparseArray是否为空
+     *
+     * @param array LongSparseArray
+     * @return {@code true}: 为null或没有元素<br>{@code false}: 不为空
+     */
+    public static boolean isEmpty(LongSparseArray<?> array) {
+        return array == null || array.size() == 0;
     }
 
     /**
@@ -83,4 +422,59 @@ public final class EmptyUtils {
     public static boolean isNotEmpty(Object obj) {
         return !isEmpty(obj);
     }
+
+    /**
+     * 判断字符串是否非空
+     *
+     * @param s 字符串
+     * @return {@code true}: 非空<br>{@code false}: 空
+     */
+    public static boolean isNotEmpty(CharSequence s) {
+        return !isEmpty(s);
+    }
+
+    /**
+     * 判断集合是否非空
+     *
+     * @param collection 集合
+     * @return {@code true}: 非空<br>{@code false}: 空
+     */
+    public static boolean isNotEmpty(Collection<?> collection) {
+        return !isEmpty(collection);
+    }
+
+    /**
+     * 判断Map是否非空
+     *
+     * @param map Map
+     * @return {@code true}: 非空<br>{@code false}: 空
+     */
+    public static boolean isNotEmpty(Map<?, ?> map) {
+        return !isEmpty(map);
+    }
+
+    /**
+     * 判断数组是否非空
+     *
+     * @param array 数组
+     * @return {@code true}: 非空<br>{@code false}: 空
+     */
+    public static boolean isNotEmpty(Object[] array) {
+        return !isEmpty(array);
+    }
+
+    /**
+     * 内置或自定义的判空方式
+     */
+    private static final class Entry {
+
+        final Class<?> type;
+        final EmptyStrategy<Object> strategy;
+
+        @SuppressWarnings("unchecked")
+        Entry(final Class<?> type, final EmptyStrategy<?> strategy) {
+            this.type = type;
+            this.strategy = (EmptyStrategy<Object>) strategy;
+        }
+    }
 }
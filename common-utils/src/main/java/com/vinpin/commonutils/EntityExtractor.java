@@ -0,0 +1,284 @@
+package com.vinpin.commonutils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * 从文本中查找手机号、邮箱与URL，见{@link RegexUtils#extract(Reader, RegexUtils.OnMatchListener)}
+ * <p>
+ * 结果与以下正则的查找结果相同（\d、\w、\s只接受ASCII字符），三种实体按出现位置取最靠前的，同一位置依次为URL、邮箱、手机号：
+ * <pre>
+ *     URL      [a-zA-Z]+://[^\s]+
+ *     邮箱     \w+(?:[-+.]\w+)*@\w+(?:[-.]\w+)*\.\w+(?:[-.]\w+)*
+ *     手机号   (?&lt;!\d)(?:13\d|14[5,7]|15[0-3,5-9]|17[0,1,3,5-8]|18\d)\d{8}(?!\d)
+ * </pre>
+ * 不使用正则：以"://"、'@'与手机号首位为锚点，向前后逐字符扫描确定匹配范围。
+ * 各锚点的查找位置只前进不后退，每个字符只被扫描常数次，总耗时与文本长度成正比，也不会因长单词或深层分隔而回溯或栈溢出。
+ * <p>
+ * 读取{@link Reader}时按块处理，距块末尾不足{@link #MAX_MATCH_LENGTH}的部分连同前一个字符留到下一块，
+ * 内存占用只与块大小有关。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class EntityExtractor {
+
+    /**
+     * 每次读取的字符数
+     */
+    static final int CHUNK_SIZE = 8192;
+    /**
+     * 单个匹配的最大长度，更长的匹配会在块末尾被截断
+     */
+    static final int MAX_MATCH_LENGTH = 2048;
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    private EntityExtractor() {
+        throw new UnsupportedOperationException("u can't instantiate me...");
+    }
+
+    static void extract(final CharSequence input, final RegexUtils.OnMatchListener listener) {
+        Scanner scanner = new Scanner(input, input.length());
+        int from = 0;
+        while (scanner.find(from)) {
+            listener.onMatch(scanner.type, input, scanner.start, scanner.end, scanner.start);
+            from = scanner.end;
+        }
+    }
+
+    static void extract(final Reader reader, final RegexUtils.OnMatchListener listener) throws IOException {
+        char[] buffer = new char[CHUNK_SIZE + MAX_MATCH_LENGTH + 1];
+        CharBuffer text = CharBuffer.wrap(buffer);
+        // buffer[0]在整个文本中的位置
+        long base = 0;
+        // 有效字符数
+        int length = 0;
+        // 下一次查找的起始位置，之前的字符只作为手机号前一位的上下文
+        int from = 0;
+        boolean eof = false;
+        while (!eof) {
+            while (length < buffer.length) {
+                int read = reader.read(buffer, length, buffer.length - length);
+                if (read < 0) {
+                    eof = true;
+                    break;
+                }
+                length += read;
+            }
+            text.limit(length);
+            // 之后开始的匹配可能因后续字符而改变，留到下一块重新查找
+            int safe = eof ? length : Math.max(from, length - MAX_MATCH_LENGTH);
+            int cut = safe;
+            Scanner scanner = new Scanner(text, length);
+            while (scanner.find(from) && scanner.start < safe) {
+                listener.onMatch(scanner.type, text, scanner.start, scanner.end, base + scanner.start);
+                from = scanner.end;
+                cut = Math.max(cut, from);
+            }
+            if (!eof) {
+                // 保留一个字符作为上下文
+                int keep = Math.max(0, cut - 1);
+                System.arraycopy(buffer, keep, buffer, 0, length - keep);
+                base += keep;
+                length -= keep;
+                from = cut - keep;
+            }
+        }
+    }
+
+    /**
+     * 在文本的[0, limit)中依次查找匹配，查找起点只能递增
+     */
+    private static final class Scanner {
+
+        private final CharSequence mText;
+        private final int mLimit;
+
+        /**
+         * 下一个待检查的"://"位置，当前候选的"://"位置（无候选为-1）及其前面字母的起始位置
+         */
+        private int mUrlSearch;
+        private int mUrlColon = -1;
+        private int mUrlStart;
+        /**
+         * 下一个待检查的'@'位置，当前候选的'@'位置（无候选为-1）、用户名起始位置与域名结束位置
+         */
+        private int mAtSearch;
+        private int mAt = -1;
+        private int mAtStart;
+        private int mAtEnd;
+        /**
+         * 下一个待检查的手机号起始位置，之前的位置均不是手机号
+         */
+        private int mMobileSearch;
+
+        int type;
+        int start;
+        int end;
+
+        Scanner(final CharSequence text, final int limit) {
+            mText = text;
+            mLimit = limit;
+        }
+
+        /**
+         * 查找from及之后开始的第一个匹配，结果保存在type、start、end中
+         */
+        boolean find(final int from) {
+            int url = nextUrl(from);
+            int email = nextEmail(from);
+            int mobile = nextMobile(from);
+            if (url == NONE && email == NONE && mobile == NONE) {
+                return false;
+            }
+            if (url <= email && url <= mobile) {
+                type = RegexUtils.RegexConstants.TYPE_URL;
+                start = url;
+                end = mUrlColon + 3;
+                while (end < mLimit && !Validators.isSpace(mText.charAt(end))) {
+                    end++;
+                }
+                mUrlColon = -1;
+            } else if (email <= mobile) {
+                type = RegexUtils.RegexConstants.TYPE_EMAIL;
+                start = email;
+                end = mAtEnd;
+                mAt = -1;
+            } else {
+                type = RegexUtils.RegexConstants.TYPE_MOBILE_EXACT;
+                start = mobile;
+                end = mobile + 11;
+            }
+            return true;
+        }
+
+        private int nextUrl(final int from) {
+            CharSequence s = mText;
+            while (true) {
+                if (mUrlColon < 0) {
+                    // "://"前至少一个字母，后面至少一个非空白字符
+                    int c = Math.max(mUrlSearch, from + 1);
+                    while (c + 3 < mLimit && !(s.charAt(c) == ':' && s.charAt(c + 1) == '/' && s.charAt(c + 2) == '/')) {
+                        c++;
+                    }
+                    if (c + 3 >= mLimit) {
+                        mUrlSearch = c;
+                        return NONE;
+                    }
+                    mUrlSearch = c + 1;
+                    if (!isLetter(s.charAt(c - 1)) || Validators.isSpace(s.charAt(c + 3))) {
+                        continue;
+                    }
+                    int i = c - 1;
+                    while (i > from && isLetter(s.charAt(i - 1))) {
+                        i--;
+                    }
+                    mUrlColon = c;
+                    mUrlStart = i;
+                }
+                // 起点之前的字母已被上一个匹配占用
+                int urlStart = Math.max(mUrlStart, from);
+                if (urlStart < mUrlColon) {
+                    return urlStart;
+                }
+                mUrlColon = -1;
+            }
+        }
+
+        private int nextEmail(final int from) {
+            CharSequence s = mText;
+            while (true) {
+                if (mAt < 0) {
+                    int a = Math.max(mAtSearch, from + 1);
+                    while (a < mLimit && s.charAt(a) != '@') {
+                        a++;
+                    }
+                    if (a >= mLimit) {
+                        mAtSearch = a;
+                        return NONE;
+                    }
+                    mAtSearch = a + 1;
+                    // 用户名：向前扫描由单个[-+.]连接的\w串
+                    int i = a;
+                    while (i > from) {
+                        char c = s.charAt(i - 1);
+                        if (Validators.isWord(c)) {
+                            i--;
+                        } else if (i < a && i - 2 >= from && (c == '-' || c == '+' || c == '.')
+                                && Validators.isWord(s.charAt(i - 2))) {
+                            i -= 2;
+                        } else {
+                            break;
+                        }
+                    }
+                    if (i == a) {
+                        continue;
+                    }
+                    // 域名：向后扫描由单个[-.]连接的\w串，其中至少一个'.'
+                    int j = a + 1;
+                    boolean dot = false;
+                    if (j < mLimit && Validators.isWord(s.charAt(j))) {
+                        while (true) {
+                            while (j < mLimit && Validators.isWord(s.charAt(j))) {
+                                j++;
+                            }
+                            if (j + 1 < mLimit && (s.charAt(j) == '-' || s.charAt(j) == '.')
+                                    && Validators.isWord(s.charAt(j + 1))) {
+                                dot |= s.charAt(j) == '.';
+                                j++;
+                            } else {
+                                break;
+                            }
+                        }
+                    }
+                    if (!dot) {
+                        continue;
+                    }
+                    mAt = a;
+                    mAtStart = i;
+                    mAtEnd = j;
+                }
+                int emailStart = Math.max(mAtStart, from);
+                // 分隔符不能作为开头，其后必为\w
+                if (emailStart < mAt && !Validators.isWord(s.charAt(emailStart))) {
+                    emailStart++;
+                }
+                if (emailStart < mAt) {
+                    return emailStart;
+                }
+                mAt = -1;
+            }
+        }
+
+        private int nextMobile(final int from) {
+            for (int i = Math.max(mMobileSearch, from); i + 11 <= mLimit; i++) {
+                if (isMobileAt(i)) {
+                    mMobileSearch = i;
+                    return i;
+                }
+            }
+            mMobileSearch = mLimit;
+            return NONE;
+        }
+
+        private boolean isMobileAt(final int i) {
+            CharSequence s = mText;
+            if (s.charAt(i) != '1' || (i > 0 && Validators.isDigit(s.charAt(i - 1)))
+                    || !Validators.isMobilePrefix(s.charAt(i + 1), s.charAt(i + 2))) {
+                return false;
+            }
+            for (int j = i + 3; j < i + 11; j++) {
+                if (!Validators.isDigit(s.charAt(j))) {
+                    return false;
+                }
+            }
+            return i + 11 == mLimit || !Validators.isDigit(s.charAt(i + 11));
+        }
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,548 @@
+package com.vinpin.commonutils;
+
+import java.io.IOException;
+import java.util.TimeZone;
+
+/**
+ * 固定格式的快速时间格式化
+ * <p>
+ * 直接由毫秒时间戳计算年月日时分秒并写入调用方提供的缓冲区，不创建{@link java.util.Date}、
+ * {@link java.util.Calendar}或{@link java.text.SimpleDateFormat}。
+ * <pre>
+ *     STYLE_YMD_HM    yyyy-MM-dd HH:mm                2016-08-12 15:44
+ *     STYLE_YMD_HMS   yyyy-MM-dd HH:mm:ss             2016-08-12 15:44:40
+ *     STYLE_HM        HH:mm                           15:44
+ *     STYLE_ISO_8601  yyyy-MM-dd'T'HH:mm:ss.SSSZ      2016-08-12T15:44:40.461+0800
+ * </pre>
+ * 解析时严格按格式匹配，失败返回{@link #PARSE_ERROR}而不抛出异常。
+ * <p>
+ * 日期按公历推算，支持公元1年至9999年；1582-10-15之前的日期与{@link java.text.SimpleDateFormat}（儒略历）结果不同。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class FastTimeFormat {
+
+    /**
+     * 格式：yyyy-MM-dd HH:mm
+     */
+    public static final int STYLE_YMD_HM = 0;
+    /**
+     * 格式：yyyy-MM-dd HH:mm:ss
+     */
+    public static final int STYLE_YMD_HMS = 1;
+    /**
+     * 格式：HH:mm
+     */
+    public static final int STYLE_HM = 2;
+    /**
+     * 格式：yyyy-MM-dd'T'HH:mm:ss.SSSZ
+     */
+    public static final int STYLE_ISO_8601 = 3;
+    /**
+     * 解析失败时返回的时间戳
+     */
+    public static final long PARSE_ERROR = Long.MIN_VALUE;
+
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd HH:mm",
+            "yyyy-MM-dd HH:mm:ss",
+            "HH:mm",
+            "yyyy-MM-dd'T'HH:mm:ss.SSSZ"
+    };
+    private static final int[] LENGTHS = {16, 19, 5, 28};
+
+    static final long MILLIS_PER_DAY = 86400000L;
+    /**
+     * 0001-01-01与9999-12-31距1970-01-01的天数
+     */
+    private static final long MIN_EPOCH_DAY = -719162L;
+    private static final long MAX_EPOCH_DAY = 2932896L;
+
+    private static final FastTimeFormat[] DEFAULT_INSTANCES = new FastTimeFormat[PATTERNS.length];
+    private static final ThreadLocal<char[]> BUFFER = new ThreadLocal<char[]>() {
+        @Override
+        protected char[] initialValue() {
+            return new char[32];
+        }
+    };
+
+    private final int mStyle;
+    private final TimeZone mTimeZone;
+    private final ZoneOffsetCache mOffsets;
+    /**
+     * 创建默认时区实例时的时区快照，指定时区的实例为null
+     */
+    private final DefaultTimeZone mDefaultZone;
+
+    private FastTimeFormat(final int style, final TimeZone timeZone, final DefaultTimeZone defaultZone) {
+        mStyle = style;
+        mTimeZone = timeZone;
+        mOffsets = new ZoneOffsetCache(timeZone);
+        mDefaultZone = defaultZone;
+    }
+
+    /**
+     * 获取默认时区的格式化实例
+     * <p>实例按格式缓存，默认时区变化后重新创建，返回的实例始终使用获取时的默认时区；
+     * 进程内修改默认时区需调用{@link TimeUtils#refreshTimeZone()}</p>
+     *
+     * @param style 格式，如{@link #STYLE_YMD_HM}
+     * @return 格式化实例
+     */
+    public static FastTimeFormat getInstance(final int style) {
+        checkStyle(style);
+        DefaultTimeZone zone = DefaultTimeZone.current();
+        // 实例不可变，并发时重复创建也无影响
+        FastTimeFormat format = DEFAULT_INSTANCES[style];
+        if (format == null || format.mDefaultZone != zone) {
+            format = new FastTimeFormat(style, zone.timeZone, zone);
+            DEFAULT_INSTANCES[style] = format;
+        }
+        return format;
+    }
+
+    /**
+     * 获取指定时区的格式化实例
+     *
+     * @param style    格式，如{@link #STYLE_YMD_HM}
+     * @param timeZone 时区
+     * @return 格式化实例
+     */
+    public static FastTimeFormat getInstance(final int style, final TimeZone timeZone) {
+        checkStyle(style);
+        return new FastTimeFormat(style, (TimeZone) timeZone.clone(), null);
+    }
+
+    /**
+     * 获取格式对应的类型
+     *
+     * @param pattern 与{@link java.text.SimpleDateFormat}等价的格式
+     * @return 类型，不支持的格式返回-1
+     */
+    static int styleOf(final String pattern) {
+        for (int i = 0; i < PATTERNS.length; i++) {
+            if (PATTERNS[i].equals(pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void checkStyle(final int style) {
+        if (style < 0 || style >= PATTERNS.length) {
+            throw new IllegalArgumentException("unknown style: " + style);
+        }
+    }
+
+    /**
+     * 获取格式
+     *
+     * @return 与{@link java.text.SimpleDateFormat}等价的格式
+     */
+    public String getPattern() {
+        return PATTERNS[mStyle];
+    }
+
+    /**
+     * 获取格式化后的字符数
+     *
+     * @return 字符数
+     */
+    public int getLength() {
+        return LENGTHS[mStyle];
+    }
+
+    /**
+     * 获取时区
+     *
+     * @return 时区
+     */
+    public TimeZone getTimeZone() {
+        return (TimeZone) mTimeZone.clone();
+    }
+
+    /**
+     * 格式化时间戳
+     *
+     * @param millis 毫秒时间戳
+     * @return 时间字符串
+     */
+    public String format(final long millis) {
+        char[] buf = new char[LENGTHS[mStyle]];
+        format(millis, buf, 0);
+        return new String(buf);
+    }
+
+    /**
+     * 格式化时间戳并写入字符数组
+     *
+     * @param millis 毫秒时间戳
+     * @param dst    目标数组，剩余空间不小于{@link #getLength()}
+     * @param offset 写入起始位置
+     * @return 写入结束位置
+     */
+    public int format(final long millis, final char[] dst, final int offset) {
+        int zoneOffset = mOffsets.getOffset(millis);
+        long local = millis + zoneOffset;
+        long epochDay = floorDiv(local, MILLIS_PER_DAY);
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new IllegalArgumentException("millis out of range: " + millis);
+        }
+        int millisOfDay = (int) (local - epochDay * MILLIS_PER_DAY);
+        int pos = offset;
+        if (mStyle != STYLE_HM) {
+            pos = writeDate(epochDay, dst, pos);
+            dst[pos++] = mStyle == STYLE_ISO_8601 ? 'T' : ' ';
+        }
+        pos = writeHourMinute(millisOfDay, dst, pos);
+        return writeTail(millisOfDay, zoneOffset, dst, pos);
+    }
+
+    /**
+     * 批量格式化时间戳
+     *
+     * @param millis 毫秒时间戳数组
+     * @return 时间字符串数组
+     */
+    public String[] format(final long[] millis) {
+        int length = LENGTHS[mStyle];
+        char[] buf = new char[millis.length * length];
+        format(millis, 0, millis.length, buf, 0, null);
+        String[] result = new String[millis.length];
+        for (int i = 0; i < millis.length; i++) {
+            result[i] = new String(buf, i * length, length);
+        }
+        return result;
+    }
+
+    /**
+     * 批量格式化时间戳并连续写入字符数组
+     * <p>相邻时间戳处于同一天或同一分钟时直接复制上一条的日期或时分，适合按时间排序的数据</p>
+     *
+     * @param millis  毫秒时间戳数组
+     * @param from    起始下标（包含）
+     * @param to      结束下标（不包含）
+     * @param dst     目标数组，剩余空间不小于(to - from) * {@link #getLength()}
+     * @param offset  写入起始位置
+     * @param offsets 可为null，否则offsets[i]为第from + i条的起始位置，offsets[to - from]为结束位置
+     * @return 写入结束位置
+     */
+    public int format(final long[] millis, final int from, final int to, final char[] dst, final int offset,
+                      final int[] offsets) {
+        boolean hasDate = mStyle != STYLE_HM;
+        // 初始值保证首条必定重新计算，且加上一天不会溢出
+        long dayStart = Long.MAX_VALUE / 2;
+        long minuteStart = Long.MAX_VALUE / 2;
+        int datePos = 0;
+        int minutePos = 0;
+        int pos = offset;
+        for (int i = from; i < to; i++) {
+            if (offsets != null) {
+                offsets[i - from] = pos;
+            }
+            int zoneOffset = mOffsets.getOffset(millis[i]);
+            long local = millis[i] + zoneOffset;
+            if (local < dayStart || local >= dayStart + MILLIS_PER_DAY) {
+                long epochDay = floorDiv(local, MILLIS_PER_DAY);
+                if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+                    throw new IllegalArgumentException("millis out of range: " + millis[i]);
+                }
+                dayStart = epochDay * MILLIS_PER_DAY;
+                if (hasDate) {
+                    datePos = pos;
+                    pos = writeDate(epochDay, dst, pos);
+                }
+            } else if (hasDate) {
+                System.arraycopy(dst, datePos, dst, pos, 10);
+                datePos = pos;
+                pos += 10;
+            }
+            if (hasDate) {
+                dst[pos++] = mStyle == STYLE_ISO_8601 ? 'T' : ' ';
+            }
+            int millisOfDay = (int) (local - dayStart);
+            if (local < minuteStart || local >= minuteStart + 60000) {
+                minuteStart = local - millisOfDay % 60000;
+                minutePos = pos;
+                pos = writeHourMinute(millisOfDay, dst, pos);
+            } else {
+                System.arraycopy(dst, minutePos, dst, pos, 5);
+                minutePos = pos;
+                pos += 5;
+            }
+            pos = writeTail(millisOfDay, zoneOffset, dst, pos);
+        }
+        if (offsets != null) {
+            offsets[to - from] = pos;
+        }
+        return pos;
+    }
+
+    /**
+     * 写入HH:mm
+     */
+    private static int writeHourMinute(final int millisOfDay, final char[] dst, int pos) {
+        int minuteOfDay = millisOfDay / 60000;
+        pos = write2(minuteOfDay / 60, dst, pos);
+        dst[pos++] = ':';
+        return write2(minuteOfDay % 60, dst, pos);
+    }
+
+    /**
+     * 写入HH:mm之后的秒、毫秒与时区偏移
+     */
+    private int writeTail(final int millisOfDay, final int zoneOffset, final char[] dst, int pos) {
+        if (mStyle == STYLE_YMD_HMS || mStyle == STYLE_ISO_8601) {
+            dst[pos++] = ':';
+            pos = write2(millisOfDay / 1000 % 60, dst, pos);
+        }
+        if (mStyle == STYLE_ISO_8601) {
+            int milli = millisOfDay % 1000;
+            dst[pos++] = '.';
+            dst[pos++] = (char) ('0' + milli / 100);
+            pos = write2(milli % 100, dst, pos);
+            int offsetMinutes = zoneOffset / 60000;
+            if (offsetMinutes < 0) {
+                dst[pos++] = '-';
+                offsetMinutes = -offsetMinutes;
+            } else {
+                dst[pos++] = '+';
+            }
+            pos = write2(offsetMinutes / 60, dst, pos);
+            pos = write2(offsetMinutes % 60, dst, pos);
+        }
+        return pos;
+    }
+
+    /**
+     * 格式化时间戳并追加到StringBuilder
+     *
+     * @param millis 毫秒时间戳
+     * @param sb     StringBuilder
+     */
+    public void format(final long millis, final StringBuilder sb) {
+        char[] buf = BUFFER.get();
+        int end = format(millis, buf, 0);
+        sb.append(buf, 0, end);
+    }
+
+    /**
+     * 格式化时间戳并追加到Appendable
+     *
+     * @param millis 毫秒时间戳
+     * @param out    Appendable
+     * @throws IOException 写入异常
+     */
+    public void format(final long millis, final Appendable out) throws IOException {
+        char[] buf = BUFFER.get();
+        int end = format(millis, buf, 0);
+        for (int i = 0; i < end; i++) {
+            out.append(buf[i]);
+        }
+    }
+
+    /**
+     * 解析时间字符串
+     *
+     * @param text 时间字符串
+     * @return 毫秒时间戳，解析失败返回{@link #PARSE_ERROR}
+     */
+    public long parse(final CharSequence text) {
+        return text == null ? PARSE_ERROR : parse(text, 0, text.length());
+    }
+
+    /**
+     * 解析时间字符串的指定区间
+     * <p>区间内容必须与格式完全匹配，{@link #STYLE_HM}解析为1970-01-01当天的时间</p>
+     *
+     * @param text  时间字符串
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 毫秒时间戳，解析失败返回{@link #PARSE_ERROR}
+     */
+    public long parse(final CharSequence text, final int start, final int end) {
+        int pos = start;
+        long epochDay = 0;
+        if (mStyle != STYLE_HM) {
+            if (end - pos < 11) {
+                return PARSE_ERROR;
+            }
+            int year = read4(text, pos);
+            int month = read2(text, pos + 5);
+            int day = read2(text, pos + 8);
+            if (year <= 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                    || text.charAt(pos + 4) != '-' || text.charAt(pos + 7) != '-'
+                    || text.charAt(pos + 10) != (mStyle == STYLE_ISO_8601 ? 'T' : ' ')) {
+                return PARSE_ERROR;
+            }
+            epochDay = toEpochDay(year, month, day);
+            pos += 11;
+        }
+        if (end - pos < 5) {
+            return PARSE_ERROR;
+        }
+        int hour = read2(text, pos);
+        int minute = read2(text, pos + 3);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || text.charAt(pos + 2) != ':') {
+            return PARSE_ERROR;
+        }
+        pos += 5;
+        int second = 0;
+        if (mStyle == STYLE_YMD_HMS || mStyle == STYLE_ISO_8601) {
+            if (end - pos < 3 || text.charAt(pos) != ':') {
+                return PARSE_ERROR;
+            }
+            second = read2(text, pos + 1);
+            if (second < 0 || second > 59) {
+                return PARSE_ERROR;
+            }
+            pos += 3;
+        }
+        long local = epochDay * MILLIS_PER_DAY + ((hour * 60 + minute) * 60 + second) * 1000L;
+        if (mStyle != STYLE_ISO_8601) {
+            return pos == end ? toUtc(local) : PARSE_ERROR;
+        }
+        if (end - pos < 5 || text.charAt(pos) != '.') {
+            return PARSE_ERROR;
+        }
+        int milli1 = digit(text.charAt(pos + 1));
+        int milli2 = read2(text, pos + 2);
+        if (milli1 < 0 || milli2 < 0) {
+            return PARSE_ERROR;
+        }
+        local += milli1 * 100 + milli2;
+        pos += 4;
+        // 时区偏移：Z、+0800、+08:00
+        char sign = text.charAt(pos);
+        if (sign == 'Z') {
+            return pos + 1 == end ? local : PARSE_ERROR;
+        }
+        if (sign != '+' && sign != '-') {
+            return PARSE_ERROR;
+        }
+        int offsetHour;
+        int offsetMinute;
+        if (end - pos == 5) {
+            offsetHour = read2(text, pos + 1);
+            offsetMinute = read2(text, pos + 3);
+        } else if (end - pos == 6 && text.charAt(pos + 3) == ':') {
+            offsetHour = read2(text, pos + 1);
+            offsetMinute = read2(text, pos + 4);
+        } else {
+            return PARSE_ERROR;
+        }
+        if (offsetHour < 0 || offsetHour > 23 || offsetMinute < 0 || offsetMinute > 59) {
+            return PARSE_ERROR;
+        }
+        long offsetMillis = (offsetHour * 60 + offsetMinute) * 60000L;
+        return sign == '+' ? local - offsetMillis : local + offsetMillis;
+    }
+
+    /**
+     * 本地时间转换为UTC时间戳
+     * <p>夏令时重叠时取较早的偏移，跳过的时间按跳变前的偏移推算</p>
+     */
+    private long toUtc(final long local) {
+        int offset1 = mOffsets.getOffset(local - mTimeZone.getRawOffset());
+        long utc = local - offset1;
+        int offset2 = mOffsets.getOffset(utc);
+        if (offset2 == offset1) {
+            return utc;
+        }
+        return local - offset2;
+    }
+
+    private static int digit(final char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    /**
+     * 读取两位数字，非数字返回负数
+     */
+    private static int read2(final CharSequence text, final int pos) {
+        int high = digit(text.charAt(pos));
+        int low = digit(text.charAt(pos + 1));
+        return high < 0 || low < 0 ? -1 : high * 10 + low;
+    }
+
+    /**
+     * 读取四位数字，非数字返回负数
+     */
+    private static int read4(final CharSequence text, final int pos) {
+        int high = read2(text, pos);
+        int low = read2(text, pos + 2);
+        return high < 0 || low < 0 ? -1 : high * 100 + low;
+    }
+
+    static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    static int daysInMonth(final int year, final int month) {
+        if (month == 2) {
+            return isLeapYear(year) ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    /**
+     * 年月日转换为距1970-01-01的天数
+     */
+    static long toEpochDay(int year, final int month, final int day) {
+        // 算法见 http://howardhinnant.github.io/date_algorithms.html#days_from_civil
+        year -= month <= 2 ? 1 : 0;
+        long era = (year >= 0 ? year : year - 399) / 400;
+        int yoe = (int) (year - era * 400);
+        int doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * 写入yyyy-MM-dd
+     */
+    static int writeDate(final long epochDay, final char[] dst, int pos) {
+        int date = toDate(epochDay);
+        int year = date / 10000;
+        pos = write2(year / 100, dst, pos);
+        pos = write2(year % 100, dst, pos);
+        dst[pos++] = '-';
+        pos = write2(date / 100 % 100, dst, pos);
+        dst[pos++] = '-';
+        return write2(date % 100, dst, pos);
+    }
+
+    /**
+     * 距1970-01-01的天数转换为年月日
+     *
+     * @return year * 10000 + month * 100 + day
+     */
+    static int toDate(final long epochDay) {
+        // 公历推算，算法见 http://howardhinnant.github.io/date_algorithms.html#civil_from_days
+        long z = epochDay + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int doe = (int) (z - era * 146097);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yoe + era * 400) + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    static int write2(final int value, final char[] dst, int pos) {
+        dst[pos++] = (char) ('0' + value / 10);
+        dst[pos++] = (char) ('0' + value % 10);
+        return pos;
+    }
+
+    static long floorDiv(final long x, final long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return q;
+    }
+}
@@ -1,11 +1,36 @@
 package com.vinpin.commonutils;
 
-import android.text.TextUtils;
-
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 正则相关工具类
+ * <p>
+ * isMobileSimple、isMobileExact、isIDCard18、isIDCard18Exact、isZh、isIP、数字类验证、
+ * {@link #classify(CharSequence, int)}、{@link #validate(List, int)}与{@link #extract(CharSequence, OnMatchListener)}
+ * 不经过正则，逐字符扫描，其中\d与\w只接受ASCII字符（'0'-'9'、a-z、A-Z、'_'）。
+ * 在JVM上与对应正则的结果一致；Android的正则引擎（ICU）中\d与\w还匹配全角数字、汉字等Unicode字符，
+ * 对这类输入结果可能与{@link #isMatch(String, CharSequence)}不同。
  *
  * @author zwp
  *         create at 2017/8/15 10:00
@@ -90,6 +115,153 @@ public final class RegexUtils {
          * 正则：负浮点数
          */
         String REGEX_NEGATIVE_FLOAT = "^-[1-9]\\d*\\.\\d*|-0\\.\\d*[1-9]\\d*$";
+        /**
+         * 分类：匹配{@link #REGEX_MOBILE_SIMPLE}
+         */
+        int TYPE_MOBILE_SIMPLE = 1 << 0;
+        /**
+         * 分类：匹配{@link #REGEX_MOBILE_EXACT}
+         */
+        int TYPE_MOBILE_EXACT = 1 << 1;
+        /**
+         * 分类：匹配{@link #REGEX_ID_CARD18}
+         */
+        int TYPE_ID_CARD18 = 1 << 2;
+        /**
+         * 分类：匹配{@link #REGEX_EMAIL}
+         */
+        int TYPE_EMAIL = 1 << 3;
+        /**
+         * 分类：匹配{@link #REGEX_URL}
+         */
+        int TYPE_URL = 1 << 4;
+        /**
+         * 分类：匹配{@link #REGEX_ZH}
+         */
+        int TYPE_ZH = 1 << 5;
+        /**
+         * 分类：匹配{@link #REGEX_USERNAME}
+         */
+        int TYPE_USERNAME = 1 << 6;
+        /**
+         * 分类：匹配{@link #REGEX_USERNAME_1}
+         */
+        int TYPE_USERNAME_1 = 1 << 7;
+        /**
+         * 分类：匹配{@link #REGEX_NAME_30L}
+         */
+        int TYPE_NAME_30L = 1 << 8;
+        /**
+         * 分类：匹配{@link #REGEX_NAME_15L}
+         */
+        int TYPE_NAME_15L = 1 << 9;
+        /**
+         * 分类：匹配{@link #REGEX_IP}
+         */
+        int TYPE_IP = 1 << 10;
+        /**
+         * 分类：匹配{@link #REGEX_POSITIVE_INTEGER}
+         */
+        int TYPE_POSITIVE_INTEGER = 1 << 11;
+        /**
+         * 分类：匹配{@link #REGEX_NEGATIVE_INTEGER}
+         */
+        int TYPE_NEGATIVE_INTEGER = 1 << 12;
+        /**
+         * 分类：匹配{@link #REGEX_INTEGER}
+         */
+        int TYPE_INTEGER = 1 << 13;
+        /**
+         * 分类：匹配{@link #REGEX_NOT_NEGATIVE_INTEGER}
+         */
+        int TYPE_NOT_NEGATIVE_INTEGER = 1 << 14;
+        /**
+         * 分类：匹配{@link #REGEX_NOT_POSITIVE_INTEGER}
+         */
+        int TYPE_NOT_POSITIVE_INTEGER = 1 << 15;
+        /**
+         * 分类：匹配{@link #REGEX_POSITIVE_FLOAT}
+         */
+        int TYPE_POSITIVE_FLOAT = 1 << 16;
+        /**
+         * 分类：匹配{@link #REGEX_NEGATIVE_FLOAT}
+         */
+        int TYPE_NEGATIVE_FLOAT = 1 << 17;
+        /**
+         * 分类：全部内置正则
+         */
+        int TYPE_ALL = (1 << 18) - 1;
+    }
+
+    /**
+     * 匹配结果：不匹配
+     */
+    public static final int RESULT_NOT_MATCHED = 0;
+    /**
+     * 匹配结果：匹配
+     */
+    public static final int RESULT_MATCHED = 1;
+    /**
+     * 匹配结果：超时，等待超过限定时间（Android上匹配可能仍在后台运行）
+     */
+    public static final int RESULT_TIMEOUT = 2;
+    /**
+     * 匹配结果：匹配线程繁忙或超时后仍在运行的匹配过多，未能开始匹配
+     */
+    public static final int RESULT_REJECTED = 3;
+
+    /**
+     * 自定义正则的缓存个数
+     */
+    private static final int MAX_CACHE_SIZE = 64;
+    /**
+     * 超时的次数
+     */
+    private static final AtomicLong TIMEOUT_COUNT = new AtomicLong();
+    /**
+     * 未能开始匹配的次数
+     */
+    private static final AtomicLong REJECTED_COUNT = new AtomicLong();
+
+    private static final CompiledPattern EMAIL = new CompiledPattern(RegexConstants.REGEX_EMAIL);
+    private static final CompiledPattern URL = new CompiledPattern(RegexConstants.REGEX_URL);
+    private static final CompiledPattern USERNAME = new CompiledPattern(RegexConstants.REGEX_USERNAME);
+    private static final CompiledPattern USERNAME_1 = new CompiledPattern(RegexConstants.REGEX_USERNAME_1);
+
+    /**
+     * 内置正则，初始化后只读
+     */
+    private static final Map<String, CompiledPattern> BUILT_IN = new HashMap<>();
+    /**
+     * 自定义正则，按最近使用淘汰
+     */
+    private static final LinkedHashMap<String, CompiledPattern> CACHE =
+            new LinkedHashMap<String, CompiledPattern>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CompiledPattern> eldest) {
+                    return size() > MAX_CACHE_SIZE;
+                }
+            };
+
+    static {
+        CompiledPattern[] patterns = {EMAIL, URL, USERNAME, USERNAME_1,
+                new CompiledPattern(RegexConstants.REGEX_MOBILE_SIMPLE),
+                new CompiledPattern(RegexConstants.REGEX_MOBILE_EXACT),
+                new CompiledPattern(RegexConstants.REGEX_ID_CARD18),
+                new CompiledPattern(RegexConstants.REGEX_ZH),
+                new CompiledPattern(RegexConstants.REGEX_IP),
+                new CompiledPattern(RegexConstants.REGEX_NOT_NEGATIVE_INTEGER),
+                new CompiledPattern(RegexConstants.REGEX_NAME_30L),
+                new CompiledPattern(RegexConstants.REGEX_NAME_15L),
+                new CompiledPattern(RegexConstants.REGEX_POSITIVE_INTEGER),
+                new CompiledPattern(RegexConstants.REGEX_NEGATIVE_INTEGER),
+                new CompiledPattern(RegexConstants.REGEX_INTEGER),
+                new CompiledPattern(RegexConstants.REGEX_NOT_POSITIVE_INTEGER),
+                new CompiledPattern(RegexConstants.REGEX_POSITIVE_FLOAT),
+                new CompiledPattern(RegexConstants.REGEX_NEGATIVE_FLOAT)};
+        for (CompiledPattern pattern : patterns) {
+            BUILT_IN.put(pattern.pattern.pattern(), pattern);
+        }
     }
 
     private RegexUtils() {
@@ -103,7 +275,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isMobileSimple(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_MOBILE_SIMPLE, input);
+        return input != null && Validators.isMobileSimple(input);
     }
 
     /**
@@ -113,7 +285,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isMobileExact(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_MOBILE_EXACT, input);
+        return input != null && Validators.isMobileExact(input);
     }
 
     /**
@@ -123,7 +295,18 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isIDCard18(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_ID_CARD18, input);
+        return input != null && Validators.isIDCard18(input);
+    }
+
+    /**
+     * 验证身份证号码18位，并校验出生日期与末位校验码
+     * <p>校验码按GB 11643（ISO 7064 MOD 11-2）计算，末位x不区分大小写</p>
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isIDCard18Exact(final CharSequence input) {
+        return input != null && Validators.isIDCard18Exact(input);
     }
 
     /**
@@ -133,7 +316,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isEmail(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_EMAIL, input);
+        return isMatch(EMAIL, input);
     }
 
     /**
@@ -143,7 +326,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isURL(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_URL, input);
+        return isMatch(URL, input);
     }
 
     /**
@@ -153,7 +336,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isZh(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_ZH, input);
+        return input != null && Validators.isZh(input);
     }
 
     /**
@@ -164,7 +347,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isUsername(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_USERNAME, input);
+        return isMatch(USERNAME, input);
     }
 
     /**
@@ -175,7 +358,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isUsername1(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_USERNAME_1, input);
+        return isMatch(USERNAME_1, input);
     }
 
     /**
@@ -185,7 +368,7 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isIP(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_IP, input);
+        return input != null && Validators.isIP(input);
     }
 
     /**
@@ -195,17 +378,562 @@ public final class RegexUtils {
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isNumeric(final CharSequence input) {
-        return isMatch(RegexConstants.REGEX_NOT_NEGATIVE_INTEGER, input);
+        return input != null && Validators.isNotNegativeInteger(input);
+    }
+
+    /**
+     * 验证整数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isInteger(final CharSequence input) {
+        return input != null && Validators.isInteger(input);
+    }
+
+    /**
+     * 验证正整数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isPositiveInteger(final CharSequence input) {
+        return input != null && Validators.isPositiveInteger(input);
+    }
+
+    /**
+     * 验证负整数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isNegativeInteger(final CharSequence input) {
+        return input != null && Validators.isNegativeInteger(input);
+    }
+
+    /**
+     * 验证非正整数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isNotPositiveInteger(final CharSequence input) {
+        return input != null && Validators.isNotPositiveInteger(input);
+    }
+
+    /**
+     * 验证正浮点数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isPositiveFloat(final CharSequence input) {
+        return input != null && Validators.isPositiveFloat(input);
+    }
+
+    /**
+     * 验证负浮点数
+     *
+     * @param input 待验证文本
+     * @return {@code true}: 匹配<br>{@code false}: 不匹配
+     */
+    public static boolean isNegativeFloat(final CharSequence input) {
+        return input != null && Validators.isNegativeFloat(input);
+    }
+
+    /**
+     * 批量验证手机号（精确）
+     *
+     * @param inputs 待验证文本
+     * @return 匹配的下标集合
+     */
+    public static BitSet isMobileExact(final List<? extends CharSequence> inputs) {
+        return validate(inputs, RegexConstants.TYPE_MOBILE_EXACT);
+    }
+
+    /**
+     * 批量验证内置正则
+     * <p>数量不少于{@value BatchValidator#PARALLEL_THRESHOLD}时多线程并行验证</p>
+     *
+     * @param inputs 待验证文本
+     * @param types  分类，为{@link RegexConstants}中TYPE_开头常量的组合，匹配其中任意一个即可
+     * @return 匹配的下标集合
+     */
+    public static BitSet validate(final List<? extends CharSequence> inputs, final int types) {
+        if (inputs == null) {
+            return new BitSet();
+        }
+        return BatchValidator.validate(inputs, new BatchValidator.Checker() {
+            @Override
+            public boolean check(CharSequence input) {
+                return Validators.classify(input, types) != 0;
+            }
+        });
+    }
+
+    /**
+     * 批量判断是否匹配正则
+     * <p>数量不少于{@value BatchValidator#PARALLEL_THRESHOLD}时多线程并行匹配，每个线程复用各自的{@link Matcher}</p>
+     *
+     * @param inputs 要匹配的字符串
+     * @param regex  正则表达式
+     * @return 匹配的下标集合
+     */
+    public static BitSet validate(final List<? extends CharSequence> inputs, final String regex) {
+        if (inputs == null) {
+            return new BitSet();
+        }
+        final CompiledPattern pattern = compile(regex);
+        return BatchValidator.validate(inputs, new BatchValidator.Checker() {
+            @Override
+            public boolean check(CharSequence input) {
+                return pattern.matches(input);
+            }
+        });
+    }
+
+    /**
+     * 筛选出匹配内置正则的文本
+     *
+     * @param inputs 待验证文本
+     * @param types  分类，为{@link RegexConstants}中TYPE_开头常量的组合，匹配其中任意一个即可
+     * @return 匹配的文本，保持原有顺序
+     */
+    public static <T extends CharSequence> List<T> filterValid(final List<T> inputs, final int types) {
+        return filter(inputs, validate(inputs, types));
+    }
+
+    /**
+     * 筛选出匹配正则的文本
+     *
+     * @param inputs 要匹配的字符串
+     * @param regex  正则表达式
+     * @return 匹配的文本，保持原有顺序
+     */
+    public static <T extends CharSequence> List<T> filterValid(final List<T> inputs, final String regex) {
+        return filter(inputs, validate(inputs, regex));
+    }
+
+    private static <T> List<T> filter(final List<T> inputs, final BitSet valid) {
+        List<T> result = new ArrayList<>(valid.cardinality());
+        if (inputs instanceof RandomAccess) {
+            for (int i = valid.nextSetBit(0); i >= 0; i = valid.nextSetBit(i + 1)) {
+                result.add(inputs.get(i));
+            }
+        } else if (!valid.isEmpty()) {
+            int i = 0;
+            for (T input : inputs) {
+                if (valid.get(i++)) {
+                    result.add(input);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 判断输入匹配哪些内置正则
+     * <p>只扫描一次输入，\d与\w只接受ASCII字符；在JVM上结果与逐个调用{@link #isMatch(String, CharSequence)}一致，
+     * Android上对含非ASCII数字、字母的输入可能不同，见{@link RegexUtils}</p>
+     *
+     * @param input 待验证文本
+     * @return 匹配的分类，为{@link RegexConstants}中TYPE_开头常量的组合，如
+     * {@code (classify(input) & RegexConstants.TYPE_EMAIL) != 0}表示是邮箱
+     */
+    public static int classify(final CharSequence input) {
+        return classify(input, RegexConstants.TYPE_ALL);
+    }
+
+    /**
+     * 判断输入匹配指定范围内的哪些内置正则
+     *
+     * @param input 待验证文本
+     * @param types 需要判断的分类，为{@link RegexConstants}中TYPE_开头常量的组合
+     * @return 匹配的分类，为types的子集
+     */
+    public static int classify(final CharSequence input, final int types) {
+        return input == null ? 0 : Validators.classify(input, types);
+    }
+
+    /**
+     * 查找文本中所有的URL、邮箱与手机号
+     * <p>按出现顺序回调，匹配之间不重叠；手机号按{@link RegexConstants#REGEX_MOBILE_EXACT}，且前后不能紧邻数字。
+     * 逐字符扫描而非正则匹配，\w与\d只接受ASCII字符，耗时与文本长度成正比</p>
+     *
+     * @param input    文本
+     * @param listener 匹配回调，text即为input
+     */
+    public static void extract(final CharSequence input, final OnMatchListener listener) {
+        if (StringUtils.isEmpty(input)) {
+            return;
+        }
+        EntityExtractor.extract(input, listener);
+    }
+
+    /**
+     * 查找文本流中所有的URL、邮箱与手机号
+     * <p>按块读取，不会将整个文本载入内存，匹配跨块时也能正确识别；
+     * 单个匹配最长{@value EntityExtractor#MAX_MATCH_LENGTH}个字符，更长的URL会被截断。
+     * 回调中的text为内部缓冲区，只在回调期间有效。不会关闭reader。</p>
+     *
+     * @param reader   文本流
+     * @param listener 匹配回调
+     * @throws IOException 读取异常
+     */
+    public static void extract(final Reader reader, final OnMatchListener listener) throws IOException {
+        EntityExtractor.extract(reader, listener);
     }
 
     /**
      * 判断是否匹配正则
+     * <p>编译后的正则会被缓存，同一线程复用同一个{@link Matcher}</p>
      *
      * @param regex 正则表达式
      * @param input 要匹配的字符串
      * @return {@code true}: 匹配<br>{@code false}: 不匹配
      */
     public static boolean isMatch(final String regex, final CharSequence input) {
-        return !TextUtils.isEmpty(input) && Pattern.matches(regex, input);
+        return !StringUtils.isEmpty(input) && compile(regex).matches(input);
+    }
+
+    /**
+     * 在限定时间内判断是否匹配正则
+     * <p>不受信任的正则或输入可能引起大量回溯。匹配在后台线程中进行，timeoutMillis限制的是调用线程的等待时间。
+     * JVM上匹配读取输入字符时会检查截止时间与中断标记并自行中止；
+     * Android的正则实现会先复制输入，匹配过程中无法中止，超时后匹配仍在后台运行至结束并占用CPU，
+     * 因此在Android上这不是匹配耗时的上限。</p>
+     * <p>超时后仍在运行的匹配由另行补充的线程承担，达到{@value MatchExecutorHolder#MAX_STUCK_THREADS}个后不再接受新的匹配，
+     * 直接返回{@link #RESULT_REJECTED}；线程繁忙、匹配未能在限定时间内开始时同样返回{@link #RESULT_REJECTED}，不计为超时。</p>
+     *
+     * @param regex         正则表达式
+     * @param input         要匹配的字符串
+     * @param timeoutMillis 超时时间，单位毫秒
+     * @return {@link #RESULT_MATCHED}、{@link #RESULT_NOT_MATCHED}、{@link #RESULT_TIMEOUT}或{@link #RESULT_REJECTED}
+     */
+    public static int match(final String regex, final CharSequence input, final long timeoutMillis) {
+        if (StringUtils.isEmpty(input)) {
+            return RESULT_NOT_MATCHED;
+        }
+        CompiledPattern pattern = compile(regex);
+        if (MatchExecutorHolder.isSaturated()) {
+            REJECTED_COUNT.incrementAndGet();
+            return RESULT_REJECTED;
+        }
+        CharSequence text = new DeadlineCharSequence(input,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        MatchTask task = new MatchTask(pattern, text);
+        Future<Boolean> future;
+        try {
+            future = MatchExecutorHolder.EXECUTOR.submit(task);
+        } catch (RejectedExecutionException e) {
+            REJECTED_COUNT.incrementAndGet();
+            return RESULT_REJECTED;
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS) ? RESULT_MATCHED : RESULT_NOT_MATCHED;
+        } catch (TimeoutException e) {
+            // 放弃等待，见下方处理
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            return onMatchFailed(e);
+        }
+        if (task.state.compareAndSet(MatchTask.PENDING, MatchTask.ABANDONED)) {
+            // 仍在排队，不再执行
+            future.cancel(false);
+            REJECTED_COUNT.incrementAndGet();
+            return RESULT_REJECTED;
+        }
+        if (task.state.compareAndSet(MatchTask.RUNNING, MatchTask.ABANDONED)) {
+            future.cancel(true);
+            MatchExecutorHolder.onStuckChanged(1);
+            TIMEOUT_COUNT.incrementAndGet();
+            return RESULT_TIMEOUT;
+        }
+        // 等待结束后、放弃前匹配已完成，结果即将可用
+        return getDone(future);
+    }
+
+    /**
+     * 获取已完成匹配的结果，等待期间不响应中断
+     */
+    private static int getDone(final Future<Boolean> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return future.get() ? RESULT_MATCHED : RESULT_NOT_MATCHED;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    return onMatchFailed(e);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static int onMatchFailed(final ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof MatchTimeoutException) {
+            TIMEOUT_COUNT.incrementAndGet();
+            return RESULT_TIMEOUT;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        throw (RuntimeException) cause;
+    }
+
+    /**
+     * 获取{@link #match(String, CharSequence, long)}超时的次数
+     *
+     * @return 次数
+     */
+    public static long getTimeoutCount() {
+        return TIMEOUT_COUNT.get();
+    }
+
+    /**
+     * 获取{@link #match(String, CharSequence, long)}因线程繁忙或超时匹配过多未能开始匹配的次数
+     *
+     * @return 次数
+     */
+    public static long getRejectedCount() {
+        return REJECTED_COUNT.get();
+    }
+
+    /**
+     * 获取编译后的正则
+     * <p>内置正则常驻，自定义正则最多缓存{@value #MAX_CACHE_SIZE}个，超出时淘汰最久未使用的</p>
+     *
+     * @param regex 正则表达式
+     * @return 编译后的正则
+     */
+    public static Pattern getPattern(final String regex) {
+        return compile(regex).pattern;
+    }
+
+    private static boolean isMatch(final CompiledPattern pattern, final CharSequence input) {
+        return !StringUtils.isEmpty(input) && pattern.matches(input);
+    }
+
+    private static CompiledPattern compile(final String regex) {
+        CompiledPattern pattern = BUILT_IN.get(regex);
+        if (pattern != null) {
+            return pattern;
+        }
+        synchronized (CACHE) {
+            pattern = CACHE.get(regex);
+        }
+        if (pattern == null) {
+            // 在锁外编译，并发时重复编译也无影响
+            pattern = new CompiledPattern(regex);
+            synchronized (CACHE) {
+                CACHE.put(regex, pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * 匹配回调，以位置给出匹配内容，不创建子串
+     */
+    public interface OnMatchListener {
+        /**
+         * 找到匹配
+         *
+         * @param type     匹配的分类：{@link RegexConstants#TYPE_URL}、{@link RegexConstants#TYPE_EMAIL}
+         *                 或{@link RegexConstants#TYPE_MOBILE_EXACT}
+         * @param text     包含匹配内容的字符序列
+         * @param start    匹配在text中的起始位置（包含）
+         * @param end      匹配在text中的结束位置（不包含）
+         * @param position 匹配在整个文本中的起始位置
+         */
+        void onMatch(int type, CharSequence text, int start, int end, long position);
+    }
+
+    /**
+     * 编译后的正则及各线程复用的Matcher
+     */
+    private static final class CompiledPattern {
+
+        final Pattern pattern;
+        private final ThreadLocal<Matcher> mMatcher = new ThreadLocal<Matcher>() {
+            @Override
+            protected Matcher initialValue() {
+                return pattern.matcher("");
+            }
+        };
+
+        CompiledPattern(final String regex) {
+            pattern = Pattern.compile(regex);
+        }
+
+        boolean matches(final CharSequence input) {
+            Matcher matcher = mMatcher.get();
+            try {
+                return matcher.reset(input).matches();
+            } finally {
+                // 不持有输入的引用
+                matcher.reset("");
+            }
+        }
+    }
+
+    /**
+     * 限时匹配的任务，记录是否已开始，调用方放弃等待时据此区分未开始与仍在运行
+     */
+    private static final class MatchTask implements Callable<Boolean> {
+
+        static final int PENDING = 0;
+        static final int RUNNING = 1;
+        static final int DONE = 2;
+        static final int ABANDONED = 3;
+
+        final AtomicInteger state = new AtomicInteger(PENDING);
+        private final CompiledPattern mPattern;
+        private final CharSequence mText;
+
+        MatchTask(final CompiledPattern pattern, final CharSequence text) {
+            mPattern = pattern;
+            mText = text;
+        }
+
+        @Override
+        public Boolean call() {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                return false;
+            }
+            try {
+                return mPattern.matches(mText);
+            } finally {
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    // 调用方已放弃等待，归还补充的线程
+                    MatchExecutorHolder.onStuckChanged(-1);
+                }
+            }
+        }
+    }
+
+    /**
+     * 限时匹配的线程池，线程空闲30秒后回收
+     * <p>超时后仍在运行的匹配（Android上无法中止）不占用常规线程数，另行补充，最多{@value #MAX_STUCK_THREADS}个，
+     * 达到上限后拒绝新的匹配</p>
+     */
+    private static final class MatchExecutorHolder {
+
+        private static final int MAX_THREADS = 4;
+        static final int MAX_STUCK_THREADS = 4;
+        private static final int MAX_QUEUED = 64;
+
+        static final ThreadPoolExecutor EXECUTOR;
+        private static volatile int sStuck;
+
+        static {
+            EXECUTOR = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(MAX_QUEUED), new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable r) {
+                    Thread thread = new Thread(r, "RegexUtils-match-" + mCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+
+        /**
+         * 超时后仍在运行的匹配是否已占满补充的线程
+         */
+        static boolean isSaturated() {
+            return sStuck >= MAX_STUCK_THREADS;
+        }
+
+        /**
+         * 超时后仍在运行的匹配数变化时调整线程数
+         */
+        static synchronized void onStuckChanged(final int delta) {
+            sStuck += delta;
+            int size = MAX_THREADS + Math.min(sStuck, MAX_STUCK_THREADS);
+            // 核心线程数不能大于最大线程数
+            if (size > EXECUTOR.getMaximumPoolSize()) {
+                EXECUTOR.setMaximumPoolSize(size);
+                EXECUTOR.setCorePoolSize(size);
+            } else {
+                EXECUTOR.setCorePoolSize(size);
+                EXECUTOR.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    /**
+     * 读取字符时检查截止时间与中断标记的字符序列
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        /**
+         * 每读取多少次字符检查一次时间
+         */
+        private static final int CHECK_INTERVAL = 4096;
+
+        private final CharSequence mText;
+        private final long mDeadline;
+        private int mCountdown = CHECK_INTERVAL;
+
+        DeadlineCharSequence(final CharSequence text, final long deadline) {
+            mText = text;
+            mDeadline = deadline;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (--mCountdown <= 0) {
+                mCountdown = CHECK_INTERVAL;
+                if (System.nanoTime() - mDeadline > 0 || Thread.currentThread().isInterrupted()) {
+                    throw MatchTimeoutException.INSTANCE;
+                }
+            }
+            return mText.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return mText.length();
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new DeadlineCharSequence(mText.subSequence(start, end), mDeadline);
+        }
+
+        @Override
+        public String toString() {
+            return mText.toString();
+        }
+    }
+
+    /**
+     * 匹配超时，单例且不记录堆栈
+     */
+    private static final class MatchTimeoutException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        static final MatchTimeoutException INSTANCE = new MatchTimeoutException();
+
+        private MatchTimeoutException() {
+            super("regex match timeout");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
     }
 }
@@ -6,12 +6,28 @@ import android.content.Context;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import android.util.DisplayMetrics;
 import android.view.View;
 import android.view.Window;
 import android.view.WindowManager;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 屏幕相关工具类
  *
@@ -20,6 +36,16 @@ import android.view.WindowManager;
  */
 public class ScreenUtils {
 
+    /**
+     * 同时保存的截屏个数上限
+     */
+    private static final int MAX_SAVING_SCREEN_SHOTS = 2;
+    private static final Semaphore SAVING_PERMITS = new Semaphore(MAX_SAVING_SCREEN_SHOTS);
+    /**
+     * 截屏用的画布，只在主线程中使用
+     */
+    private static Canvas sScreenShotCanvas;
+
     private ScreenUtils() {
         throw new UnsupportedOperationException("u can't instantiate me...");
     }
@@ -30,7 +56,7 @@ public class ScreenUtils {
      * @return 屏幕宽
      */
     public static int getScreenWidth() {
-        return Utils.getApp().getResources().getDisplayMetrics().widthPixels;
+        return DisplayInfo.get().widthPixels;
     }
 
     /**
@@ -39,7 +65,7 @@ public class ScreenUtils {
      * @return 屏幕高
      */
     public static int getScreenHeight() {
-        return Utils.getApp().getResources().getDisplayMetrics().heightPixels;
+        return DisplayInfo.get().heightPixels;
     }
 
     /**
@@ -134,13 +160,160 @@ public class ScreenUtils {
         return ret;
     }
 
+    /**
+     * 截屏，直接将界面绘制到可复用的位图中
+     * <p>不使用绘制缓存，也不再复制位图；去掉状态栏时通过平移画布裁剪。只能在主线程调用。
+     * 位图取自{@link BitmapPool#getDefault()}，使用完毕后可调用{@link #recycleScreenShot(Bitmap)}交还复用</p>
+     *
+     * @param activity          activity
+     * @param isDeleteStatusBar 是否去掉状态栏
+     * @param scale             缩放比例，取值(0, 1]，如0.25f用于模糊背景
+     * @param config            位图格式，如{@link Bitmap.Config#RGB_565}可减少一半内存
+     * @return Bitmap
+     */
+    public static Bitmap screenShot(@NonNull final Activity activity, boolean isDeleteStatusBar, float scale,
+                                    @NonNull Bitmap.Config config) {
+        if (scale <= 0 || scale > 1) {
+            throw new IllegalArgumentException("scale must be in (0, 1]: " + scale);
+        }
+        View decorView = activity.getWindow().getDecorView();
+        int top = isDeleteStatusBar ? getStatusBarHeight(activity) : 0;
+        int width = Math.max(1, Math.round(decorView.getWidth() * scale));
+        int height = Math.max(1, Math.round((decorView.getHeight() - top) * scale));
+        Bitmap bitmap = BitmapPool.getDefault().get(width, height, config);
+        Canvas canvas = sScreenShotCanvas;
+        if (canvas == null) {
+            canvas = new Canvas();
+            sScreenShotCanvas = canvas;
+        }
+        canvas.setBitmap(bitmap);
+        int saveCount = canvas.save();
+        canvas.scale(scale, scale);
+        canvas.translate(0, -top);
+        decorView.draw(canvas);
+        canvas.restoreToCount(saveCount);
+        canvas.setBitmap(null);
+        return bitmap;
+    }
+
+    /**
+     * 交还截屏位图到{@link BitmapPool#getDefault()}，供之后的截屏、绘制或解码复用
+     * <p>交还后不能再使用该位图</p>
+     *
+     * @param bitmap {@link #screenShot(Activity, boolean, float, Bitmap.Config)}返回的位图
+     */
+    public static void recycleScreenShot(Bitmap bitmap) {
+        BitmapPool.getDefault().put(bitmap);
+    }
+
+    /**
+     * 截屏并在后台线程中压缩保存到{@link SDCardUtils#getCachePath()}
+     * <p>截屏在当前线程（主线程）中完成，压缩与写入文件在后台线程中进行，完成后位图交还复用，
+     * 在主线程中回调。同时最多处理{@value #MAX_SAVING_SCREEN_SHOTS}个截屏，超出时不截屏并返回false</p>
+     *
+     * @param activity          activity
+     * @param isDeleteStatusBar 是否去掉状态栏
+     * @param scale             缩放比例，取值(0, 1]
+     * @param config            位图格式
+     * @param format            压缩格式
+     * @param quality           压缩质量，取值[0, 100]，PNG忽略该值
+     * @param listener          保存结果回调，可为null
+     * @return {@code true}: 已截屏，开始保存<br>{@code false}: 正在保存的截屏过多，本次未截屏
+     */
+    public static boolean screenShotToFile(@NonNull final Activity activity, boolean isDeleteStatusBar, float scale,
+                                           @NonNull Bitmap.Config config, @NonNull final Bitmap.CompressFormat format,
+                                           final int quality, @Nullable final OnScreenShotSavedListener listener) {
+        if (!SAVING_PERMITS.tryAcquire()) {
+            return false;
+        }
+        final Bitmap bitmap;
+        try {
+            bitmap = screenShot(activity, isDeleteStatusBar, scale, config);
+        } catch (RuntimeException e) {
+            SAVING_PERMITS.release();
+            throw e;
+        }
+        SaverHolder.EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                File file = null;
+                try {
+                    file = save(bitmap, format, quality);
+                } finally {
+                    recycleScreenShot(bitmap);
+                    SAVING_PERMITS.release();
+                }
+                if (listener != null) {
+                    final File result = file;
+                    SaverHolder.MAIN_HANDLER.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            listener.onSaved(result);
+                        }
+                    });
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 压缩保存截屏，在后台线程中调用（获取缓存目录时可能创建目录）
+     *
+     * @return 保存的文件，失败时返回null
+     */
+    private static File save(Bitmap bitmap, Bitmap.CompressFormat format, int quality) {
+        String extension = format == Bitmap.CompressFormat.JPEG ? ".jpg"
+                : format == Bitmap.CompressFormat.PNG ? ".png" : ".webp";
+        File file = null;
+        OutputStream os = null;
+        boolean success = false;
+        try {
+            file = new File(SDCardUtils.getCachePath(), "screenshot_" + System.currentTimeMillis() + "_"
+                    + SaverHolder.COUNTER.incrementAndGet() + extension);
+            os = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024);
+            success = bitmap.compress(format, quality, os);
+            os.flush();
+        } catch (IOException | RuntimeException e) {
+            // 如SecurityException，同样按保存失败回调
+            success = false;
+        } finally {
+            if (os != null) {
+                try {
+                    os.close();
+                } catch (IOException e) {
+                    success = false;
+                }
+            }
+        }
+        if (!success) {
+            if (file != null) {
+                FileUtils.deleteFile(file.getPath());
+            }
+            return null;
+        }
+        return file;
+    }
+
+    /**
+     * 截屏保存结果回调
+     */
+    public interface OnScreenShotSavedListener {
+        /**
+         * 保存完成，在主线程中回调
+         *
+         * @param file 保存的文件，失败时为null
+         */
+        void onSaved(@Nullable File file);
+    }
+
     /**
      * 获取屏幕相关的信息
      *
      * @return 信息字符串
      */
     public static String getScreenParams() {
-        DisplayMetrics dm = Utils.getApp().getResources().getDisplayMetrics();
+        DisplayInfo dm = DisplayInfo.get();
         int heightPixels = dm.heightPixels;
         int widthPixels = dm.widthPixels;
         float xdpi = dm.xdpi;
@@ -161,4 +334,27 @@ public class ScreenUtils {
         str += "\nwidthDP: " + widthDP + "dp";
         return str;
     }
+
+    /**
+     * 截屏保存线程，空闲30秒后回收
+     */
+    private static final class SaverHolder {
+
+        static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+        static final AtomicInteger COUNTER = new AtomicInteger();
+        static final ThreadPoolExecutor EXECUTOR;
+
+        static {
+            EXECUTOR = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            Thread thread = new Thread(r, "ScreenUtils-save");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
 }
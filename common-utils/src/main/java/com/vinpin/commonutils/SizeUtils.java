@@ -25,10 +25,68 @@ public final class SizeUtils {
      * @return px值
      */
     public static int dp2px(float dpValue) {
-        final float scale = Utils.getApp().getResources().getDisplayMetrics().density;
+        final float scale = DisplayInfo.get().density;
         return (int) (dpValue * scale + 0.5f);
     }
 
+    /**
+     * dp转px
+     * <p>0至1024的整数查表获取，结果与{@link #dp2px(float)}相同</p>
+     *
+     * @param dpValue dp值
+     * @return px值
+     */
+    public static int dp2px(int dpValue) {
+        return DisplayInfo.get().dp2px(dpValue);
+    }
+
+    /**
+     * 批量dp转px，结果写回原数组
+     *
+     * @param values dp值
+     */
+    public static void dp2px(int[] values) {
+        dp2px(values, 0, values, 0, values.length);
+    }
+
+    /**
+     * 批量dp转px
+     *
+     * @param src     dp值
+     * @param srcPos  dp值的起始位置
+     * @param dest    写入px值的数组，可以与src相同
+     * @param destPos 写入的起始位置
+     * @param length  个数
+     */
+    public static void dp2px(int[] src, int srcPos, int[] dest, int destPos, int length) {
+        final DisplayInfo info = DisplayInfo.get();
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = info.dp2px(src[srcPos + i]);
+        }
+    }
+
+    /**
+     * 批量dp转px，不取整，结果写回原数组
+     *
+     * @param values dp值
+     */
+    public static void dp2px(float[] values) {
+        dp2px(values, 0, values, 0, values.length);
+    }
+
+    /**
+     * 批量dp转px，不取整
+     *
+     * @param src     dp值
+     * @param srcPos  dp值的起始位置
+     * @param dest    写入px值的数组，可以与src相同
+     * @param destPos 写入的起始位置
+     * @param length  个数
+     */
+    public static void dp2px(float[] src, int srcPos, float[] dest, int destPos, int length) {
+        scale(src, srcPos, dest, destPos, length, DisplayInfo.get().density);
+    }
+
     /**
      * px转dp
      *
@@ -36,7 +94,7 @@ public final class SizeUtils {
      * @return dp值
      */
     public static int px2dp(float pxValue) {
-        final float scale = Utils.getApp().getResources().getDisplayMetrics().density;
+        final float scale = DisplayInfo.get().density;
         return (int) (pxValue / scale + 0.5f);
     }
 
@@ -47,10 +105,38 @@ public final class SizeUtils {
      * @return px值
      */
     public static int sp2px(float spValue) {
-        final float fontScale = Utils.getApp().getResources().getDisplayMetrics().scaledDensity;
+        final float fontScale = DisplayInfo.get().scaledDensity;
         return (int) (spValue * fontScale + 0.5f);
     }
 
+    /**
+     * 批量sp转px，不取整，结果写回原数组
+     *
+     * @param values sp值
+     */
+    public static void sp2px(float[] values) {
+        sp2px(values, 0, values, 0, values.length);
+    }
+
+    /**
+     * 批量sp转px，不取整
+     *
+     * @param src     sp值
+     * @param srcPos  sp值的起始位置
+     * @param dest    写入px值的数组，可以与src相同
+     * @param destPos 写入的起始位置
+     * @param length  个数
+     */
+    public static void sp2px(float[] src, int srcPos, float[] dest, int destPos, int length) {
+        scale(src, srcPos, dest, destPos, length, DisplayInfo.get().scaledDensity);
+    }
+
+    private static void scale(float[] src, int srcPos, float[] dest, int destPos, int length, float scale) {
+        for (int i = 0; i < length; i++) {
+            dest[destPos + i] = src[srcPos + i] * scale;
+        }
+    }
+
     /**
      * px转sp
      *
@@ -58,7 +144,7 @@ public final class SizeUtils {
      * @return sp值
      */
     public static int px2sp(float pxValue) {
-        final float fontScale = Utils.getApp().getResources().getDisplayMetrics().scaledDensity;
+        final float fontScale = DisplayInfo.get().scaledDensity;
         return (int) (pxValue / fontScale + 0.5f);
     }
 
@@ -82,23 +168,22 @@ public final class SizeUtils {
      * @return arr[0]: 视图宽度, arr[1]: 视图高度
      */
     public static int[] measureView(View view) {
-        ViewGroup.LayoutParams lp = view.getLayoutParams();
-        if (lp == null) {
-            lp = new ViewGroup.LayoutParams(
-                    ViewGroup.LayoutParams.MATCH_PARENT,
-                    ViewGroup.LayoutParams.WRAP_CONTENT
-            );
-        }
-        int widthSpec = ViewGroup.getChildMeasureSpec(0, 0, lp.width);
-        int lpHeight = lp.height;
-        int heightSpec;
-        if (lpHeight > 0) {
-            heightSpec = View.MeasureSpec.makeMeasureSpec(lpHeight, View.MeasureSpec.EXACTLY);
-        } else {
-            heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
-        }
-        view.measure(widthSpec, heightSpec);
-        return new int[]{view.getMeasuredWidth(), view.getMeasuredHeight()};
+        return measureView(view, new int[2]);
+    }
+
+    /**
+     * 测量视图尺寸，结果写入指定数组
+     * <p>不创建结果数组，只能在主线程调用</p>
+     *
+     * @param view 视图
+     * @param out  长度至少为2的数组
+     * @return out，out[0]: 视图宽度, out[1]: 视图高度
+     */
+    public static int[] measureView(View view, int[] out) {
+        measure(view);
+        out[0] = view.getMeasuredWidth();
+        out[1] = view.getMeasuredHeight();
+        return out;
     }
 
     /**
@@ -108,7 +193,8 @@ public final class SizeUtils {
      * @return 视图宽度
      */
     public static int getMeasuredWidth(View view) {
-        return measureView(view)[0];
+        measure(view);
+        return view.getMeasuredWidth();
     }
 
     /**
@@ -118,6 +204,25 @@ public final class SizeUtils {
      * @return 视图高度
      */
     public static int getMeasuredHeight(View view) {
-        return measureView(view)[1];
+        measure(view);
+        return view.getMeasuredHeight();
+    }
+
+    /**
+     * 测量视图
+     * <p>没有LayoutParams时按宽MATCH_PARENT、高WRAP_CONTENT测量</p>
+     */
+    private static void measure(View view) {
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        int lpWidth = lp != null ? lp.width : ViewGroup.LayoutParams.MATCH_PARENT;
+        int lpHeight = lp != null ? lp.height : ViewGroup.LayoutParams.WRAP_CONTENT;
+        int widthSpec = ViewGroup.getChildMeasureSpec(0, 0, lpWidth);
+        int heightSpec;
+        if (lpHeight > 0) {
+            heightSpec = View.MeasureSpec.makeMeasureSpec(lpHeight, View.MeasureSpec.EXACTLY);
+        } else {
+            heightSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        }
+        view.measure(widthSpec, heightSpec);
     }
 }
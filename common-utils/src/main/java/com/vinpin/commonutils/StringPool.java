@@ -0,0 +1,239 @@
+package com.vinpin.commonutils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 字符串去重池
+ * <p>
+ * 将内容相同的字符串统一为同一个实例，用于解析大量重复取值（城市名、状态码等）时减少内存占用。
+ * 与{@link String#intern()}不同，池的容量有上限，超出时淘汰最久未使用的字符串。
+ * <p>
+ * 内部为4路组相联的哈希表，按组加锁；可直接用{@link CharSequence}或字符数组区间查找，命中时不创建任何对象。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class StringPool {
+
+    private static final int WAYS = 4;
+    private static final int LOCKS = 32;
+
+    private final String[] mTable;
+    private final int[] mHashes;
+    private final int mSetMask;
+    private final Object[] mLocks;
+    private final AtomicLong mHitCount = new AtomicLong();
+    private final AtomicLong mMissCount = new AtomicLong();
+    private final AtomicLong mEvictionCount = new AtomicLong();
+
+    /**
+     * 创建字符串池
+     *
+     * @param maxSize 最多缓存的字符串个数，实际容量向上取整为2的幂
+     */
+    public StringPool(final int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        int sets = 1;
+        while (sets * WAYS < maxSize) {
+            sets <<= 1;
+        }
+        mTable = new String[sets * WAYS];
+        mHashes = new int[sets * WAYS];
+        mSetMask = sets - 1;
+        mLocks = new Object[LOCKS];
+        for (int i = 0; i < LOCKS; i++) {
+            mLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * 获取与字符串内容相同的唯一实例
+     *
+     * @param s 字符串
+     * @return 池中的实例，s为null返回null
+     */
+    public String get(final CharSequence s) {
+        if (s == null) {
+            return null;
+        }
+        return get(s, 0, s.length());
+    }
+
+    /**
+     * 获取与字符串区间内容相同的唯一实例
+     *
+     * @param s     字符串
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 池中的实例
+     */
+    public String get(final CharSequence s, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + s.charAt(i);
+        }
+        int set = spread(hash) & mSetMask;
+        synchronized (mLocks[set & (LOCKS - 1)]) {
+            int base = set * WAYS;
+            for (int way = 0; way < WAYS; way++) {
+                String candidate = mTable[base + way];
+                if (candidate == null) {
+                    break;
+                }
+                if (mHashes[base + way] == hash && candidate.length() == end - start
+                        && StringUtils.regionMatches(candidate, 0, s, start, end - start)) {
+                    moveToFront(base, way, candidate, hash);
+                    mHitCount.incrementAndGet();
+                    return candidate;
+                }
+            }
+            String value = s instanceof String && start == 0 && end == s.length()
+                    ? (String) s : s.subSequence(start, end).toString();
+            insert(base, value, hash);
+            return value;
+        }
+    }
+
+    /**
+     * 获取与字符数组区间内容相同的唯一实例
+     *
+     * @param chars  字符数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 池中的实例
+     */
+    public String get(final char[] chars, final int offset, final int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int set = spread(hash) & mSetMask;
+        synchronized (mLocks[set & (LOCKS - 1)]) {
+            int base = set * WAYS;
+            for (int way = 0; way < WAYS; way++) {
+                String candidate = mTable[base + way];
+                if (candidate == null) {
+                    break;
+                }
+                if (mHashes[base + way] == hash && candidate.length() == length
+                        && equals(candidate, chars, offset, length)) {
+                    moveToFront(base, way, candidate, hash);
+                    mHitCount.incrementAndGet();
+                    return candidate;
+                }
+            }
+            String value = new String(chars, offset, length);
+            insert(base, value, hash);
+            return value;
+        }
+    }
+
+    private static boolean equals(final String s, final char[] chars, final int offset, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (s.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 组内按最近使用排序，命中的移到首位
+     */
+    private void moveToFront(final int base, final int way, final String value, final int hash) {
+        for (int i = way; i > 0; i--) {
+            mTable[base + i] = mTable[base + i - 1];
+            mHashes[base + i] = mHashes[base + i - 1];
+        }
+        mTable[base] = value;
+        mHashes[base] = hash;
+    }
+
+    /**
+     * 插入到组首位，组已满时淘汰末位（最久未使用）
+     */
+    private void insert(final int base, final String value, final int hash) {
+        mMissCount.incrementAndGet();
+        if (mTable[base + WAYS - 1] != null) {
+            mEvictionCount.incrementAndGet();
+        }
+        moveToFront(base, WAYS - 1, value, hash);
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 获取当前缓存的字符串个数
+     *
+     * @return 个数
+     */
+    public int size() {
+        int size = 0;
+        for (int set = 0; set <= mSetMask; set++) {
+            synchronized (mLocks[set & (LOCKS - 1)]) {
+                for (int way = 0; way < WAYS; way++) {
+                    if (mTable[set * WAYS + way] != null) {
+                        size++;
+                    }
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 获取容量
+     *
+     * @return 最多缓存的字符串个数
+     */
+    public int maxSize() {
+        return mTable.length;
+    }
+
+    /**
+     * 清空缓存，统计数据保留
+     */
+    public void clear() {
+        for (int set = 0; set <= mSetMask; set++) {
+            synchronized (mLocks[set & (LOCKS - 1)]) {
+                for (int way = 0; way < WAYS; way++) {
+                    mTable[set * WAYS + way] = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取命中次数
+     */
+    public long hitCount() {
+        return mHitCount.get();
+    }
+
+    /**
+     * 获取未命中次数
+     */
+    public long missCount() {
+        return mMissCount.get();
+    }
+
+    /**
+     * 获取淘汰次数
+     */
+    public long evictionCount() {
+        return mEvictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        long hits = mHitCount.get();
+        long accesses = hits + mMissCount.get();
+        int hitPercent = accesses != 0 ? (int) (100 * hits / accesses) : 0;
+        return "StringPool[maxSize=" + maxSize() + ",hits=" + hits + ",misses=" + mMissCount.get()
+                + ",evictions=" + mEvictionCount.get() + ",hitRate=" + hitPercent + "%]";
+    }
+}
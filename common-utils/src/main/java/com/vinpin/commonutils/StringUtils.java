@@ -2,6 +2,8 @@ package com.vinpin.commonutils;
 
 import androidx.annotation.Nullable;
 
+import java.nio.charset.Charset;
+
 /**
  * 字符串相关工具类
  *
@@ -31,7 +33,49 @@ public final class StringUtils {
      * @return {@code true}: null或全空格<br> {@code false}: 不为null且不全空格
      */
     public static boolean isTrimEmpty(final String s) {
-        return (s == null || s.trim().length() == 0);
+        return isTrimEmpty((CharSequence) s);
+    }
+
+    /**
+     * 判断字符串是否为null或全为空格
+     * <p>与{@link String#trim()}规则相同，但不创建新字符串</p>
+     *
+     * @param s 待校验字符串
+     * @return {@code true}: null或全空格<br> {@code false}: 不为null且不全空格
+     */
+    public static boolean isTrimEmpty(final CharSequence s) {
+        return s == null || trimStart(s, 0, s.length()) == s.length();
+    }
+
+    /**
+     * 获取去除首部空格后的起始位置
+     * <p>与{@link String#trim()}规则相同，小于等于空格的字符均视为空格</p>
+     *
+     * @param s     字符串
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 第一个非空格字符的位置，全为空格返回end
+     */
+    public static int trimStart(final CharSequence s, int start, final int end) {
+        while (start < end && s.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * 获取去除尾部空格后的结束位置
+     *
+     * @param s     字符串
+     * @param start 起始位置（包含）
+     * @param end   结束位置（不包含）
+     * @return 最后一个非空格字符的下一个位置，全为空格返回start
+     */
+    public static int trimEnd(final CharSequence s, final int start, int end) {
+        while (end > start && s.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
     }
 
     /**
@@ -84,40 +128,480 @@ public final class StringUtils {
 
     /**
      * 按字节数截取某个长度的字符串
+     * <p>字节数按平台默认编码计算</p>
      *
      * @param s          字符串
      * @param subSLength 字节数
      * @return 截取后的字符串
      */
     public static String subStr(String s, int subSLength) {
+        return subStr(s, subSLength, Charset.defaultCharset(), null);
+    }
+
+    /**
+     * 按字节数截取某个长度的字符串
+     *
+     * @param s        字符串
+     * @param maxBytes 最大字节数
+     * @param charset  编码
+     * @return 截取后的字符串
+     */
+    public static String subStr(CharSequence s, int maxBytes, Charset charset) {
+        return subStr(s, maxBytes, charset, null);
+    }
+
+    /**
+     * 按字节数截取某个长度的字符串，超出时追加省略符
+     * <p>
+     * 单次遍历按码点累加编码后的字节数，不会截断代理对；追加省略符后的总字节数仍不超过maxBytes，
+     * 省略符本身超出时不追加。常用编码无需编码即可计算，见{@link #getStringBytes(CharSequence, Charset)}。
+     *
+     * @param s        字符串
+     * @param maxBytes 最大字节数
+     * @param charset  编码
+     * @param ellipsis 省略符，可为null
+     * @return 截取后的字符串
+     */
+    public static String subStr(CharSequence s, int maxBytes, Charset charset, @Nullable String ellipsis) {
         if (s == null) {
             return "";
         }
-        // 截取字节数
-        int tempSubLength = subSLength;
-        // 截取的子串
-        String subStr = s.substring(0, s.length() < subSLength ? s.length() : subSLength);
-        // 截取子串的字节长度
-        int subStrByetsL = subStr.getBytes().length;
-        // 说明截取的字符串中包含有汉字
-        while (subStrByetsL > tempSubLength) {
-            int subSLengthTemp = --subSLength;
-            subStr = s.substring(0, subSLengthTemp > s.length() ? s.length() : subSLengthTemp);
-            subStrByetsL = subStr.getBytes().length;
+        int kind = CharsetLength.kindOf(charset);
+        int length = s.length();
+        int budget = maxBytes - CharsetLength.overhead(kind);
+        int end = 0;
+        // 省略符放得下时的截取位置
+        int ellipsisEnd = -1;
+        int ellipsisBudget = -1;
+        if (ellipsis != null && ellipsis.length() > 0) {
+            int ellipsisBytes = 0;
+            for (int i = 0; i < ellipsis.length(); ) {
+                int cp = Character.codePointAt(ellipsis, i);
+                ellipsisBytes += CharsetLength.of(kind, charset, cp);
+                i += Character.charCount(cp);
+            }
+            ellipsisBudget = budget - ellipsisBytes;
+            if (ellipsisBudget >= 0) {
+                ellipsisEnd = 0;
+            }
+        }
+        int used = 0;
+        while (end < length) {
+            int cp = Character.codePointAt(s, end);
+            int bytes = CharsetLength.of(kind, charset, cp);
+            if (used + bytes > budget) {
+                break;
+            }
+            used += bytes;
+            end += Character.charCount(cp);
+            if (used <= ellipsisBudget) {
+                ellipsisEnd = end;
+            }
+        }
+        if (end == length) {
+            return s.toString();
         }
-        return subStr;
+        if (ellipsisEnd >= 0) {
+            return s.subSequence(0, ellipsisEnd).toString() + ellipsis;
+        }
+        return s.subSequence(0, end).toString();
     }
 
     /**
      * 获取字符串的字节数
+     * <p>字节数按平台默认编码计算</p>
      *
      * @param s 字符串
      * @return null返回-1，其他返回字符串的字节数
      */
     public static int getStringBytes(String s) {
+        return getStringBytes(s, Charset.defaultCharset());
+    }
+
+    /**
+     * 获取字符串的字节数
+     * <p>UTF-8、UTF-16、GBK、GB18030、ISO-8859-1无需编码即可计算（GBK、GB18030首次遇到某段字符时需编码生成该段的字符表），
+     * 其他编码复用编码器分段计数，均不创建数组</p>
+     *
+     * @param s       字符串
+     * @param charset 编码
+     * @return null返回-1，其他返回字符串的字节数
+     */
+    public static int getStringBytes(CharSequence s, Charset charset) {
         if (s == null) {
             return -1;
         }
-        return s.getBytes().length;
+        return CharsetLength.length(s, charset, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 判断字符串的字节数是否不超过限制
+     * <p>累计字节数超过限制时立即返回，无需遍历整个字符串</p>
+     *
+     * @param s        字符串
+     * @param maxBytes 最大字节数
+     * @param charset  编码
+     * @return {@code true}: null或不超过限制<br> {@code false}: 超过限制
+     */
+    public static boolean isBytesWithin(CharSequence s, int maxBytes, Charset charset) {
+        return s == null || CharsetLength.length(s, charset, maxBytes) <= maxBytes;
+    }
+
+    /**
+     * 获取与字符串内容相同的唯一实例
+     * <p>使用全局共享的{@link StringPool}（容量4096），适合解析时对重复取值去重</p>
+     *
+     * @param s 字符串
+     * @return 池中的实例，s为null返回null
+     */
+    public static String dedup(final CharSequence s) {
+        return DedupHolder.POOL.get(s);
+    }
+
+    /**
+     * 获取与字符数组区间内容相同的唯一实例
+     *
+     * @param chars  字符数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @return 池中的实例
+     */
+    public static String dedup(final char[] chars, final int offset, final int length) {
+        return DedupHolder.POOL.get(chars, offset, length);
+    }
+
+    private static final class DedupHolder {
+        static final StringPool POOL = new StringPool(4096);
+    }
+
+    /**
+     * 判断两段字符是否相同
+     *
+     * @param a       字符串a
+     * @param aOffset a的起始位置
+     * @param b       字符串b
+     * @param bOffset b的起始位置
+     * @param length  比较的长度
+     * @return {@code true}: 相同<br> {@code false}: 不同或越界
+     */
+    public static boolean regionMatches(final CharSequence a, final int aOffset,
+                                        final CharSequence b, final int bOffset, final int length) {
+        if (aOffset < 0 || bOffset < 0 || length < 0
+                || aOffset > a.length() - length || bOffset > b.length() - length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(aOffset + i) != b.charAt(bOffset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断两个字符串内容是否相同，可用于String与SpannableStringBuilder等比较
+     *
+     * @param a 字符串a
+     * @param b 字符串b
+     * @return {@code true}: 相同或均为null<br> {@code false}: 不同
+     */
+    public static boolean contentEquals(final CharSequence a, final CharSequence b) {
+        if (a == b) {
+            return true;
+        }
+        if (a == null || b == null || a.length() != b.length()) {
+            return false;
+        }
+        return regionMatches(a, 0, b, 0, a.length());
+    }
+
+    /**
+     * 判断字符串是否以指定前缀开头
+     *
+     * @param s      字符串
+     * @param prefix 前缀
+     * @return {@code true}: 是<br> {@code false}: 否或任一为null
+     */
+    public static boolean startsWith(final CharSequence s, final CharSequence prefix) {
+        return s != null && prefix != null && regionMatches(s, 0, prefix, 0, prefix.length());
+    }
+
+    /**
+     * 判断字符串是否以指定后缀结尾
+     *
+     * @param s      字符串
+     * @param suffix 后缀
+     * @return {@code true}: 是<br> {@code false}: 否或任一为null
+     */
+    public static boolean endsWith(final CharSequence s, final CharSequence suffix) {
+        return s != null && suffix != null
+                && regionMatches(s, s.length() - suffix.length(), suffix, 0, suffix.length());
+    }
+
+    /**
+     * 查找子串的位置
+     *
+     * @param s         字符串
+     * @param target    子串
+     * @param fromIndex 查找起始位置
+     * @return 子串首次出现的位置，未找到返回-1
+     */
+    public static int indexOf(final CharSequence s, final CharSequence target, final int fromIndex) {
+        if (s == null || target == null) {
+            return -1;
+        }
+        return indexOf(s, target, fromIndex, s.length());
+    }
+
+    /**
+     * 在[fromIndex, limit)内查找子串的位置
+     */
+    private static int indexOf(final CharSequence s, final CharSequence target, int fromIndex, final int limit) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+        int targetLength = target.length();
+        if (targetLength == 0) {
+            return fromIndex <= limit ? fromIndex : -1;
+        }
+        char first = target.charAt(0);
+        for (int i = fromIndex, max = limit - targetLength; i <= max; i++) {
+            if (s.charAt(i) == first && regionMatches(s, i + 1, target, 1, targetLength - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 判断字符串是否包含子串
+     *
+     * @param s      字符串
+     * @param target 子串
+     * @return {@code true}: 包含<br> {@code false}: 不包含或任一为null
+     */
+    public static boolean contains(final CharSequence s, final CharSequence target) {
+        return indexOf(s, target, 0) >= 0;
+    }
+
+    /**
+     * 按分隔符拆分字符串，结果以起止位置对写入数组
+     *
+     * @param s         字符串
+     * @param delimiter 分隔符
+     * @param offsets   输出数组，第i段的起止位置为offsets[2 * i]与offsets[2 * i + 1]
+     * @return 段数，数组不足时只写入能容纳的段，返回值仍为总段数
+     */
+    public static int split(final CharSequence s, final char delimiter, final int[] offsets) {
+        int count = 0;
+        int start = 0;
+        for (int i = 0, length = s.length(); i <= length; i++) {
+            if (i == length || s.charAt(i) == delimiter) {
+                if (count * 2 + 1 < offsets.length) {
+                    offsets[count * 2] = start;
+                    offsets[count * 2 + 1] = i;
+                }
+                count++;
+                start = i + 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 创建按字符拆分的迭代器
+     *
+     * @param delimiter 分隔符
+     * @return 迭代器
+     */
+    public static Splitter splitter(final char delimiter) {
+        return new Splitter(String.valueOf(delimiter));
+    }
+
+    /**
+     * 创建按字符串拆分的迭代器
+     *
+     * @param delimiter 分隔符，不能为空
+     * @return 迭代器
+     */
+    public static Splitter splitter(final CharSequence delimiter) {
+        if (isEmpty(delimiter)) {
+            throw new IllegalArgumentException("delimiter can't be empty");
+        }
+        return new Splitter(delimiter);
+    }
+
+    /**
+     * 可复用的拆分迭代器
+     * <p>
+     * 每一段只记录起止位置，{@link #token()}返回同一个视图对象，不创建子串；需要保留时调用其toString()。
+     * 非线程安全，可通过{@link #reset(CharSequence)}重复使用。
+     * <pre>
+     *     StringUtils.Splitter splitter = StringUtils.splitter(',').trimResults().omitEmpty();
+     *     splitter.reset(text);
+     *     while (splitter.next()) {
+     *         CharSequence token = splitter.token();
+     *     }
+     * </pre>
+     */
+    public static final class Splitter {
+
+        private final CharSequence mDelimiter;
+        private final Slice mSlice = new Slice();
+        private boolean mTrim;
+        private boolean mOmitEmpty;
+        private CharSequence mText;
+        private int mEnd;
+        private int mPosition;
+        private int mTokenStart;
+        private int mTokenEnd;
+
+        private Splitter(final CharSequence delimiter) {
+            mDelimiter = delimiter;
+        }
+
+        /**
+         * 去除每一段首尾的空格
+         */
+        public Splitter trimResults() {
+            mTrim = true;
+            return this;
+        }
+
+        /**
+         * 跳过空段（去除空格后判断）
+         */
+        public Splitter omitEmpty() {
+            mOmitEmpty = true;
+            return this;
+        }
+
+        /**
+         * 设置待拆分的字符串
+         *
+         * @param text 字符串
+         */
+        public Splitter reset(final CharSequence text) {
+            return reset(text, 0, text == null ? 0 : text.length());
+        }
+
+        /**
+         * 设置待拆分的字符串区间
+         *
+         * @param text  字符串
+         * @param start 起始位置（包含）
+         * @param end   结束位置（不包含）
+         */
+        public Splitter reset(final CharSequence text, final int start, final int end) {
+            mText = text;
+            mEnd = end;
+            // null视为没有任何段
+            mPosition = text == null ? end + 1 : start;
+            mTokenStart = mTokenEnd = start;
+            return this;
+        }
+
+        /**
+         * 移动到下一段
+         *
+         * @return {@code true}: 有下一段<br> {@code false}: 已结束
+         */
+        public boolean next() {
+            int delimiterLength = mDelimiter.length();
+            while (mPosition <= mEnd) {
+                int start = mPosition;
+                int end = indexOf(mText, mDelimiter, start, mEnd);
+                if (end < 0) {
+                    end = mEnd;
+                }
+                mPosition = end + delimiterLength;
+                if (end == mEnd) {
+                    // 最后一段之后不再有分隔符
+                    mPosition = mEnd + 1;
+                }
+                if (mTrim) {
+                    start = trimStart(mText, start, end);
+                    end = trimEnd(mText, start, end);
+                }
+                if (mOmitEmpty && start == end) {
+                    continue;
+                }
+                mTokenStart = start;
+                mTokenEnd = end;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 当前段的起始位置（包含）
+         */
+        public int start() {
+            return mTokenStart;
+        }
+
+        /**
+         * 当前段的结束位置（不包含）
+         */
+        public int end() {
+            return mTokenEnd;
+        }
+
+        /**
+         * 当前段的视图，调用{@link #next()}后内容随之改变
+         */
+        public CharSequence token() {
+            mSlice.set(mText, mTokenStart, mTokenEnd);
+            return mSlice;
+        }
+    }
+
+    /**
+     * 字符串区间视图
+     */
+    private static final class Slice implements CharSequence {
+
+        private CharSequence mText;
+        private int mStart;
+        private int mEnd;
+
+        Slice() {
+        }
+
+        Slice(final CharSequence text, final int start, final int end) {
+            set(text, start, end);
+        }
+
+        void set(final CharSequence text, final int start, final int end) {
+            mText = text;
+            mStart = start;
+            mEnd = end;
+        }
+
+        @Override
+        public int length() {
+            return mEnd - mStart;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= mEnd - mStart) {
+                throw new IndexOutOfBoundsException("index: " + index + ", length: " + (mEnd - mStart));
+            }
+            return mText.charAt(mStart + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > mEnd - mStart || start > end) {
+                throw new IndexOutOfBoundsException("start: " + start + ", end: " + end);
+            }
+            return new Slice(mText, mStart + start, mStart + end);
+        }
+
+        @Override
+        public String toString() {
+            return mText.subSequence(mStart, mEnd).toString();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+package com.vinpin.commonutils;
+
+import android.graphics.Typeface;
+import android.os.Build;
+import android.os.Process;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文本排版缓存
+ * <p>
+ * 在后台线程中预先完成文本的测量与排版（{@link StaticLayout}），结果按文本、宽度与画笔属性缓存，
+ * 列表绑定时只需取出排版结果绘制，不再在主线程中测量。常与{@link SpanUtils}创建的富文本配合使用。
+ * <p>
+ * 文本按{@link Object#equals(Object)}比较，{@link android.text.SpannableString}等在较低版本上只按实例比较，
+ * 此时应缓存同一个文本实例（如保存在数据模型中）。排版使用画笔的副本，之后修改画笔不影响已缓存的结果。
+ * <p>
+ * Android 6.0及以上默认按{@link android.widget.TextView}的默认值设置断行策略与断字频率，
+ * 与TextView的设置不同时应通过构造方法指定，否则预排版的结果与TextView的断行不一致。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class TextLayoutCache {
+
+    /**
+     * Android 13，compileSdkVersion中没有该常量
+     */
+    private static final int TIRAMISU = 33;
+
+    private final LruCache<Key, Layout> mCache;
+    private final int mBreakStrategy;
+    private final int mHyphenationFrequency;
+
+    /**
+     * 创建文本排版缓存，断行策略与断字频率同TextView的默认值
+     * <p>断行策略为{@link Layout#BREAK_STRATEGY_HIGH_QUALITY}，断字频率在Android 13以下为
+     * {@link Layout#HYPHENATION_FREQUENCY_NORMAL}，Android 13及以上为{@link Layout#HYPHENATION_FREQUENCY_NONE}</p>
+     *
+     * @param maxSize 最多缓存的排版结果个数
+     */
+    public TextLayoutCache(final int maxSize) {
+        this(maxSize, Layout.BREAK_STRATEGY_HIGH_QUALITY, Build.VERSION.SDK_INT >= TIRAMISU
+                ? Layout.HYPHENATION_FREQUENCY_NONE : Layout.HYPHENATION_FREQUENCY_NORMAL);
+    }
+
+    /**
+     * 创建文本排版缓存
+     *
+     * @param maxSize              最多缓存的排版结果个数
+     * @param breakStrategy        断行策略，如{@link Layout#BREAK_STRATEGY_SIMPLE}，Android 6.0及以上有效
+     * @param hyphenationFrequency 断字频率，如{@link Layout#HYPHENATION_FREQUENCY_NONE}，Android 6.0及以上有效
+     */
+    public TextLayoutCache(final int maxSize, final int breakStrategy, final int hyphenationFrequency) {
+        mCache = new LruCache<>(maxSize);
+        mBreakStrategy = breakStrategy;
+        mHyphenationFrequency = hyphenationFrequency;
+    }
+
+    /**
+     * 获取排版结果，没有缓存时在当前线程中排版
+     *
+     * @param text  文本
+     * @param paint 画笔
+     * @param width 宽度（单位：px）
+     * @return 排版结果
+     */
+    public Layout get(@NonNull final CharSequence text, @NonNull final TextPaint paint, final int width) {
+        Key key = new Key(text, paint, width);
+        Layout layout = mCache.get(key);
+        if (layout == null) {
+            layout = build(text, new TextPaint(paint), width);
+            mCache.put(key, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * 获取已缓存的排版结果
+     *
+     * @param text  文本
+     * @param paint 画笔
+     * @param width 宽度（单位：px）
+     * @return 排版结果，未缓存或仍在后台排版时返回null
+     */
+    public Layout getIfPresent(@NonNull final CharSequence text, @NonNull final TextPaint paint, final int width) {
+        return mCache.get(new Key(text, paint, width));
+    }
+
+    /**
+     * 在后台线程中排版并缓存
+     *
+     * @param text  文本
+     * @param paint 画笔
+     * @param width 宽度（单位：px）
+     */
+    public void prefetch(@NonNull final CharSequence text, @NonNull final TextPaint paint, final int width) {
+        submit(new Key(text, paint, width), paint);
+    }
+
+    /**
+     * 在后台线程中批量排版并缓存
+     *
+     * @param texts 文本
+     * @param paint 画笔
+     * @param width 宽度（单位：px）
+     */
+    public void prefetch(@NonNull final List<? extends CharSequence> texts, @NonNull final TextPaint paint,
+                         final int width) {
+        for (CharSequence text : texts) {
+            if (text != null) {
+                submit(new Key(text, paint, width), paint);
+            }
+        }
+    }
+
+    private void submit(final Key key, final TextPaint source) {
+        if (mCache.get(key) != null) {
+            return;
+        }
+        // 在调用线程中复制画笔，避免调用方之后修改画笔
+        final TextPaint paint = new TextPaint(source);
+        ExecutorHolder.EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (mCache.get(key) == null) {
+                    mCache.put(key, build(key.text, paint, key.width));
+                }
+            }
+        });
+    }
+
+    /**
+     * 移除所有缓存
+     */
+    public void clear() {
+        mCache.evictAll();
+    }
+
+    /**
+     * 获取当前缓存的排版结果个数
+     *
+     * @return 个数
+     */
+    public int size() {
+        return mCache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TextLayoutCache[" + mCache + ",breakStrategy=" + mBreakStrategy
+                + ",hyphenationFrequency=" + mHyphenationFrequency + "]";
+    }
+
+    @SuppressWarnings("deprecation")
+    private Layout build(final CharSequence text, final TextPaint paint, final int width) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                    .setBreakStrategy(mBreakStrategy)
+                    .setHyphenationFrequency(mHyphenationFrequency)
+                    .build();
+        }
+        return new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1.0f, 0.0f, true);
+    }
+
+    /**
+     * 缓存的键：文本、宽度及影响排版、字形与绘制的画笔属性
+     */
+    private static final class Key {
+
+        final CharSequence text;
+        final int width;
+        private final float mTextSize;
+        private final float mTextScaleX;
+        private final float mTextSkewX;
+        private final float mLetterSpacing;
+        private final Typeface mTypeface;
+        /**
+         * 语言环境：Android 7.0及以上为LocaleList，4.2及以上为Locale
+         */
+        private final Object mTextLocale;
+        private final String mFontFeatureSettings;
+        private final int mFlags;
+        private final int mColor;
+        private final int mHash;
+
+        Key(final CharSequence text, final TextPaint paint, final int width) {
+            this.text = text;
+            this.width = width;
+            mTextSize = paint.getTextSize();
+            mTextScaleX = paint.getTextScaleX();
+            mTextSkewX = paint.getTextSkewX();
+            mLetterSpacing = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP ? paint.getLetterSpacing() : 0;
+            mTypeface = paint.getTypeface();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+                mTextLocale = paint.getTextLocales();
+            } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
+                mTextLocale = paint.getTextLocale();
+            } else {
+                mTextLocale = null;
+            }
+            mFontFeatureSettings = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                    ? paint.getFontFeatureSettings() : null;
+            mFlags = paint.getFlags();
+            mColor = paint.getColor();
+            int hash = text.hashCode();
+            hash = 31 * hash + width;
+            hash = 31 * hash + Float.floatToIntBits(mTextSize);
+            hash = 31 * hash + (mTypeface != null ? mTypeface.hashCode() : 0);
+            hash = 31 * hash + (mTextLocale != null ? mTextLocale.hashCode() : 0);
+            hash = 31 * hash + mFlags;
+            hash = 31 * hash + mColor;
+            mHash = hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return mHash == key.mHash && width == key.width && mFlags == key.mFlags && mColor == key.mColor
+                    && Float.compare(mTextSize, key.mTextSize) == 0 && Float.compare(mTextScaleX, key.mTextScaleX) == 0
+                    && Float.compare(mTextSkewX, key.mTextSkewX) == 0
+                    && Float.compare(mLetterSpacing, key.mLetterSpacing) == 0
+                    && (mTypeface == null ? key.mTypeface == null : mTypeface.equals(key.mTypeface))
+                    && (mTextLocale == null ? key.mTextLocale == null : mTextLocale.equals(key.mTextLocale))
+                    && (mFontFeatureSettings == null ? key.mFontFeatureSettings == null
+                    : mFontFeatureSettings.equals(key.mFontFeatureSettings))
+                    && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return mHash;
+        }
+    }
+
+    /**
+     * 后台排版线程，空闲30秒后回收
+     */
+    private static final class ExecutorHolder {
+
+        static final ThreadPoolExecutor EXECUTOR;
+
+        static {
+            EXECUTOR = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(final Runnable r) {
+                            Thread thread = new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                                    r.run();
+                                }
+                            }, "TextLayoutCache");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            EXECUTOR.allowCoreThreadTimeOut(true);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.vinpin.commonutils;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * 时间分组相关工具类
+ * <p>
+ * 将毫秒时间戳映射为本地时区的日、周、月编号，并将有序时间戳数组按编号分段，
+ * 适合列表的分组标题。时区偏移按天缓存，全程不创建Calendar也不装箱。
+ * <pre>
+ *     BUCKET_DAY    距1970-01-01的天数
+ *     BUCKET_WEEK   距1970-01-01所在周的周数（周一为一周的第一天）
+ *     BUCKET_MONTH  距1970年1月的月数
+ * </pre>
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class TimeBuckets {
+
+    /**
+     * 按天分组
+     */
+    public static final int BUCKET_DAY = 0;
+    /**
+     * 按周分组
+     */
+    public static final int BUCKET_WEEK = 1;
+    /**
+     * 按月分组
+     */
+    public static final int BUCKET_MONTH = 2;
+
+    private static volatile TimeBuckets sDefault;
+
+    private final ZoneOffsetCache mOffsets;
+    /**
+     * 创建默认时区实例时的时区快照，指定时区的实例为null
+     */
+    private final DefaultTimeZone mDefaultZone;
+
+    private TimeBuckets(final TimeZone timeZone, final DefaultTimeZone defaultZone) {
+        mOffsets = new ZoneOffsetCache(timeZone);
+        mDefaultZone = defaultZone;
+    }
+
+    /**
+     * 获取默认时区的实例
+     * <p>默认时区变化后重新创建，返回的实例始终使用获取时的默认时区；
+     * 进程内修改默认时区需调用{@link TimeUtils#refreshTimeZone()}</p>
+     *
+     * @return 实例
+     */
+    public static TimeBuckets getInstance() {
+        DefaultTimeZone zone = DefaultTimeZone.current();
+        // 实例不可变，并发时重复创建也无影响
+        TimeBuckets buckets = sDefault;
+        if (buckets == null || buckets.mDefaultZone != zone) {
+            buckets = new TimeBuckets(zone.timeZone, zone);
+            sDefault = buckets;
+        }
+        return buckets;
+    }
+
+    /**
+     * 获取指定时区的实例
+     *
+     * @param timeZone 时区
+     * @return 实例
+     */
+    public static TimeBuckets getInstance(final TimeZone timeZone) {
+        return new TimeBuckets((TimeZone) timeZone.clone(), null);
+    }
+
+    /**
+     * 获取时间戳所在的本地日编号
+     *
+     * @param millis 毫秒时间戳
+     * @return 距1970-01-01的天数
+     */
+    public long toEpochDay(final long millis) {
+        return FastTimeFormat.floorDiv(millis + mOffsets.getOffset(millis), FastTimeFormat.MILLIS_PER_DAY);
+    }
+
+    /**
+     * 获取时间戳所在的本地周编号
+     *
+     * @param millis 毫秒时间戳
+     * @return 周编号，周一为一周的第一天
+     */
+    public long toEpochWeek(final long millis) {
+        // 1970-01-01为星期四，偏移3天后以周一对齐
+        return FastTimeFormat.floorDiv(toEpochDay(millis) + 3, 7);
+    }
+
+    /**
+     * 获取时间戳所在的本地月编号
+     *
+     * @param millis 毫秒时间戳
+     * @return 距1970年1月的月数
+     */
+    public long toEpochMonth(final long millis) {
+        int date = FastTimeFormat.toDate(toEpochDay(millis));
+        return (date / 10000 - 1970) * 12L + date / 100 % 100 - 1;
+    }
+
+    /**
+     * 获取时间戳所在的分组编号
+     *
+     * @param millis 毫秒时间戳
+     * @param bucket 分组方式，如{@link #BUCKET_DAY}
+     * @return 分组编号
+     */
+    public long toBucket(final long millis, final int bucket) {
+        switch (bucket) {
+            case BUCKET_DAY:
+                return toEpochDay(millis);
+            case BUCKET_WEEK:
+                return toEpochWeek(millis);
+            case BUCKET_MONTH:
+                return toEpochMonth(millis);
+            default:
+                throw new IllegalArgumentException("unknown bucket: " + bucket);
+        }
+    }
+
+    /**
+     * 按分组编号将时间戳数组分段
+     * <p>编号相同的连续元素为一段，数组按时间排序时即为按日、周、月分组</p>
+     *
+     * @param millis 毫秒时间戳数组
+     * @param from   起始下标（包含）
+     * @param to     结束下标（不包含）
+     * @param bucket 分组方式，如{@link #BUCKET_DAY}
+     * @param starts 输出各段起始下标，starts[段数]为to，长度不小于段数 + 1（最多to - from + 1）
+     * @return 段数
+     */
+    public int group(final long[] millis, final int from, final int to, final int bucket, final int[] starts) {
+        int count = 0;
+        long current = 0;
+        for (int i = from; i < to; i++) {
+            long id = toBucket(millis[i], bucket);
+            if (i == from || id != current) {
+                starts[count++] = i;
+                current = id;
+            }
+        }
+        starts[count] = to;
+        return count;
+    }
+
+    /**
+     * 按分组编号将时间戳数组分段
+     *
+     * @param millis 毫秒时间戳数组
+     * @param bucket 分组方式，如{@link #BUCKET_DAY}
+     * @return 各段起始下标，最后一个元素为millis.length
+     */
+    public int[] group(final long[] millis, final int bucket) {
+        int[] starts = new int[millis.length + 1];
+        int count = group(millis, 0, millis.length, bucket, starts);
+        return Arrays.copyOf(starts, count + 1);
+    }
+}
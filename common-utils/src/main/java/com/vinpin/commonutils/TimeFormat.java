@@ -0,0 +1,158 @@
+package com.vinpin.commonutils;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的日期格式
+ * <p>
+ * 按格式与语言环境缓存，同一格式只解析一次，每个线程持有各自的{@link SimpleDateFormat}，
+ * 格式化与解析时无需再创建对象。
+ * <p>每次使用前检查默认时区快照，系统时区变更后仍按新时区格式化与解析；
+ * 进程内修改默认时区需调用{@link TimeUtils#refreshTimeZone()}。</p>
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+public final class TimeFormat {
+
+    private static final ConcurrentHashMap<Locale, ConcurrentHashMap<String, TimeFormat>> CACHE =
+            new ConcurrentHashMap<>();
+
+    private final String mPattern;
+    private final Locale mLocale;
+    private final ThreadLocal<Formatter> mFormatter;
+
+    private TimeFormat(final String pattern, final Locale locale) {
+        mPattern = pattern;
+        mLocale = locale;
+        mFormatter = new ThreadLocal<Formatter>() {
+            @Override
+            protected Formatter initialValue() {
+                return new Formatter(new SimpleDateFormat(mPattern, mLocale));
+            }
+        };
+        // 提前校验格式，非法格式在编译时抛出IllegalArgumentException
+        mFormatter.get();
+    }
+
+    /**
+     * 编译日期格式，使用默认语言环境
+     *
+     * @param pattern 格式，如yyyy-MM-dd HH:mm:ss
+     * @return 日期格式
+     */
+    public static TimeFormat compile(final String pattern) {
+        return compile(pattern, Locale.getDefault());
+    }
+
+    /**
+     * 编译日期格式
+     *
+     * @param pattern 格式，如yyyy-MM-dd HH:mm:ss
+     * @param locale  语言环境
+     * @return 日期格式
+     */
+    public static TimeFormat compile(final String pattern, final Locale locale) {
+        ConcurrentHashMap<String, TimeFormat> formats = CACHE.get(locale);
+        if (formats == null) {
+            formats = new ConcurrentHashMap<>();
+            ConcurrentHashMap<String, TimeFormat> old = CACHE.putIfAbsent(locale, formats);
+            if (old != null) {
+                formats = old;
+            }
+        }
+        TimeFormat format = formats.get(pattern);
+        if (format == null) {
+            format = new TimeFormat(pattern, locale);
+            TimeFormat old = formats.putIfAbsent(pattern, format);
+            if (old != null) {
+                format = old;
+            }
+        }
+        return format;
+    }
+
+    /**
+     * 获取格式
+     *
+     * @return 格式
+     */
+    public String getPattern() {
+        return mPattern;
+    }
+
+    /**
+     * 获取语言环境
+     *
+     * @return 语言环境
+     */
+    public Locale getLocale() {
+        return mLocale;
+    }
+
+    /**
+     * 格式化日期
+     *
+     * @param date 日期
+     * @return 日期字符串
+     */
+    public String format(final Date date) {
+        return formatter().format(date);
+    }
+
+    /**
+     * 格式化时间戳
+     *
+     * @param millis 毫秒时间戳
+     * @return 日期字符串
+     */
+    public String format(final long millis) {
+        return formatter().format(millis);
+    }
+
+    /**
+     * 解析日期字符串
+     * <p>解析失败时不抛出异常</p>
+     *
+     * @param source 日期字符串
+     * @return 日期，解析失败返回null
+     */
+    public Date parse(final String source) {
+        if (source == null) {
+            return null;
+        }
+        return formatter().parse(source, new ParsePosition(0));
+    }
+
+    /**
+     * 获取当前线程的格式，默认时区变化时同步更新
+     */
+    private SimpleDateFormat formatter() {
+        Formatter formatter = mFormatter.get();
+        DefaultTimeZone zone = DefaultTimeZone.current();
+        if (formatter.zone != zone) {
+            // 快照中的时区是共享的，SimpleDateFormat会修改日历，设置副本
+            formatter.format.setTimeZone((TimeZone) zone.timeZone.clone());
+            formatter.zone = zone;
+        }
+        return formatter.format;
+    }
+
+    /**
+     * 线程持有的格式及其使用的时区快照
+     */
+    private static final class Formatter {
+
+        final SimpleDateFormat format;
+        DefaultTimeZone zone;
+
+        Formatter(final SimpleDateFormat format) {
+            this.format = format;
+        }
+    }
+}
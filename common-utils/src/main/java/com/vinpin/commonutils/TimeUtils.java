@@ -1,9 +1,8 @@
 package com.vinpin.commonutils;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Date;
-import java.util.Locale;
+import java.util.TimeZone;
 
 /**
  * 时间相关工具类
@@ -13,6 +12,10 @@ import java.util.Locale;
  */
 public class TimeUtils {
 
+    private static final String[] WEEK_DAYS = {"星期一", "星期二", "星期三", "星期四", "星期五", "星期六", "星期日"};
+    private static volatile DayBoundaries sDayBoundaries;
+    private static volatile MinuteText sMinuteText;
+
     /* <pre>
      *                                             HH:mm    15:44
      *                                            h:mm a    3:44 下午
@@ -46,37 +49,40 @@ public class TimeUtils {
      * @param formatType 格式为yyyy-MM-dd HH:mm:ss  //yyyy年MM月dd日 HH时mm分ss秒
      */
     public static String dateToString(Date date, String formatType) {
-        return new SimpleDateFormat(formatType, Locale.getDefault()).format(date);
+        return TimeFormat.compile(formatType).format(date);
     }
 
     /**
      * 字符串转换日期
      * <p>
-     * strTime的时间格式必须要与formatType的时间格式相同
+     * strTime的时间格式必须要与formatType的时间格式相同，解析失败返回null
      *
      * @param stringTime 要转换的string类型的时间
      * @param formatType 格式为yyyy-MM-dd HH:mm:ss  //yyyy年MM月dd日 HH时mm分ss秒
      */
     public static Date stringToDate(String stringTime, String formatType) {
-        SimpleDateFormat formatter = new SimpleDateFormat(formatType, Locale.getDefault());
-        Date date = null;
-        try {
-            date = formatter.parse(stringTime);
-        } catch (ParseException e) {
-            e.printStackTrace();
-        }
-        return date;
+        return TimeFormat.compile(formatType).parse(stringTime);
     }
 
     /**
      * 字符串转换long类型
      * <p>
-     * strTime的时间格式必须要与formatType的时间格式相同
+     * strTime的时间格式必须要与formatType的时间格式相同，解析失败返回0
+     * <p>
+     * formatType为{@link FastTimeFormat}支持的格式时直接按字符解析，不创建Date
      *
      * @param stringTime 要转换的string类型的时间
      * @param formatType 格式为yyyy-MM-dd HH:mm:ss  //yyyy年MM月dd日 HH时mm分ss秒
      */
     public static long stringToLong(String stringTime, String formatType) {
+        int style = FastTimeFormat.styleOf(formatType);
+        if (style >= 0 && stringTime != null) {
+            long millis = FastTimeFormat.getInstance(style).parse(stringTime);
+            if (millis != FastTimeFormat.PARSE_ERROR) {
+                return millis;
+            }
+        }
+        // 不规范的输入（如单位数的月份）交由SimpleDateFormat宽松解析
         Date date = stringToDate(stringTime, formatType);
         return date == null ? 0 : date.getTime();
     }
@@ -87,4 +93,249 @@ public class TimeUtils {
     public static String getStandardTime(Date date) {
         return dateToString(date, "yyyy-MM-dd HH:mm");
     }
-}
\ No newline at end of file
+
+    /**
+     * 将时间戳格式化成 yyyy-MM-dd HH:mm
+     * <p>不经过{@link java.text.SimpleDateFormat}，数字固定为ASCII字符</p>
+     *
+     * @param millis 毫秒时间戳
+     */
+    public static String getStandardTime(long millis) {
+        return FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM).format(millis);
+    }
+
+    /**
+     * 将时间戳格式化成 yyyy-MM-dd HH:mm 并追加到StringBuilder
+     *
+     * @param millis 毫秒时间戳
+     * @param sb     StringBuilder
+     */
+    public static void appendStandardTime(long millis, StringBuilder sb) {
+        FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM).format(millis, sb);
+    }
+
+    /**
+     * 批量格式化时间戳
+     * <p>按时间排序的数据可复用相邻记录的日期与时分，适合列表与导出</p>
+     *
+     * @param millis 毫秒时间戳数组
+     * @param style  格式，如{@link FastTimeFormat#STYLE_YMD_HM}
+     * @return 时间字符串数组
+     */
+    public static String[] formatTimes(long[] millis, int style) {
+        return FastTimeFormat.getInstance(style).format(millis);
+    }
+
+    /**
+     * 批量格式化时间戳并连续写入字符数组
+     *
+     * @param millis  毫秒时间戳数组
+     * @param style   格式，如{@link FastTimeFormat#STYLE_YMD_HM}
+     * @param dst     目标数组，长度不小于millis.length * 格式长度
+     * @param offsets 可为null，否则offsets[i]为第i条的起始位置，offsets[millis.length]为结束位置
+     * @return 写入结束位置
+     */
+    public static int formatTimes(long[] millis, int style, char[] dst, int[] offsets) {
+        return FastTimeFormat.getInstance(style).format(millis, 0, millis.length, dst, 0, offsets);
+    }
+
+    /**
+     * 将时间戳格式化成相对时间
+     *
+     * @param millis 毫秒时间戳
+     * @see #getFriendlyTime(long, long)
+     */
+    public static String getFriendlyTime(long millis) {
+        return getFriendlyTime(millis, System.currentTimeMillis());
+    }
+
+    /**
+     * 将时间戳格式化成相对时间
+     * <pre>
+     *     一分钟内            刚刚
+     *     一小时内            5分钟前
+     *     今天                15:44
+     *     昨天                昨天 15:44
+     *     本周（周一起）       星期三
+     *     今年                08-12
+     *     更早                2016-08-12
+     *     一分钟后及以后       2016-08-12 15:44
+     * </pre>
+     * 今天、本周、今年的起始时间会缓存，跨越边界或默认时区变化时才重新计算；星期由本地日期推算，各分支只写入返回的字段
+     *
+     * @param millis 毫秒时间戳
+     * @param now    当前毫秒时间戳
+     */
+    public static String getFriendlyTime(long millis, long now) {
+        long span = now - millis;
+        if (span < 60000 && span > -60000) {
+            return "刚刚";
+        }
+        DayBoundaries boundaries = getDayBoundaries(now);
+        if (span < 0) {
+            return boundaries.format.format(millis);
+        }
+        if (span < 3600000) {
+            return span / 60000 + "分钟前";
+        }
+        if (millis >= boundaries.yesterdayStart) {
+            // 今天与昨天只需写入时分
+            char[] buf;
+            int pos;
+            if (millis >= boundaries.todayStart) {
+                buf = new char[5];
+                pos = 0;
+            } else {
+                buf = new char[]{'昨', '天', ' ', 0, 0, 0, 0, 0};
+                pos = 3;
+            }
+            int minuteOfDay = (int) (FastTimeFormat.floorDiv(boundaries.toLocal(millis), 60000) % 1440);
+            minuteOfDay += minuteOfDay < 0 ? 1440 : 0;
+            pos = FastTimeFormat.write2(minuteOfDay / 60, buf, pos);
+            buf[pos++] = ':';
+            FastTimeFormat.write2(minuteOfDay % 60, buf, pos);
+            return new String(buf);
+        }
+        long epochDay = FastTimeFormat.floorDiv(boundaries.toLocal(millis), FastTimeFormat.MILLIS_PER_DAY);
+        if (millis >= boundaries.weekStart) {
+            return WEEK_DAYS[(int) (epochDay - boundaries.weekStartDay)];
+        }
+        if (millis >= boundaries.yearStart) {
+            char[] buf = new char[5];
+            int date = FastTimeFormat.toDate(epochDay);
+            FastTimeFormat.write2(date / 100 % 100, buf, 0);
+            buf[2] = '-';
+            FastTimeFormat.write2(date % 100, buf, 3);
+            return new String(buf);
+        }
+        char[] buf = new char[10];
+        FastTimeFormat.writeDate(epochDay, buf, 0);
+        return new String(buf);
+    }
+
+    private static DayBoundaries getDayBoundaries(long now) {
+        DefaultTimeZone zone = DefaultTimeZone.current();
+        DayBoundaries boundaries = sDayBoundaries;
+        if (boundaries == null || now < boundaries.todayStart || now >= boundaries.tomorrowStart
+                || boundaries.zone != zone) {
+            boundaries = new DayBoundaries(now, zone);
+            sDayBoundaries = boundaries;
+        }
+        return boundaries;
+    }
+
+    /**
+     * 重新读取默认时区
+     * <p>{@link Utils#init(android.app.Application)}后系统时区变更会自动同步；
+     * 进程内调用{@link TimeZone#setDefault(TimeZone)}修改默认时区后需调用此方法，格式化与解析才会使用新时区</p>
+     */
+    public static void refreshTimeZone() {
+        DefaultTimeZone.refresh();
+    }
+
+    /**
+     * 获取当前时间
+     * <p>{@link System#currentTimeMillis()}本身足够廉价，直接读取，不使用后台线程刷新的缓存值</p>
+     *
+     * @return 毫秒时间戳
+     */
+    public static long getCoarseTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * 获取单调递增的耗时计时
+     * <p>不受系统时间修改影响，只能用于计算时间间隔</p>
+     *
+     * @return 纳秒
+     */
+    public static long getElapsedNanos() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 将当前时间格式化成 yyyy-MM-dd HH:mm
+     * <p>结果按分钟缓存，同一分钟内重复调用返回同一字符串</p>
+     */
+    public static String getCurrentStandardTime() {
+        long now = System.currentTimeMillis();
+        FastTimeFormat format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM);
+        MinuteText minuteText = sMinuteText;
+        if (minuteText == null || now < minuteText.start || now >= minuteText.start + 60000
+                || minuteText.format != format) {
+            // 时区偏移均为整分钟，UTC的整分钟即本地的整分钟
+            minuteText = new MinuteText(FastTimeFormat.floorDiv(now, 60000) * 60000, format, format.format(now));
+            sMinuteText = minuteText;
+        }
+        return minuteText.text;
+    }
+
+    /**
+     * 缓存的当天、本周、本年起始时间
+     */
+    private static final class DayBoundaries {
+
+        final DefaultTimeZone zone;
+        final ZoneOffsetCache offsets;
+        final FastTimeFormat format;
+        final long todayStart;
+        final long tomorrowStart;
+        final long yesterdayStart;
+        final long weekStart;
+        /**
+         * 本周一距1970-01-01的天数（本地日期）
+         */
+        final long weekStartDay;
+        final long yearStart;
+
+        DayBoundaries(long now, DefaultTimeZone zone) {
+            this.zone = zone;
+            TimeZone timeZone = zone.timeZone;
+            offsets = new ZoneOffsetCache(timeZone);
+            format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM, timeZone);
+            Calendar calendar = Calendar.getInstance(timeZone);
+            calendar.setTimeInMillis(now);
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            todayStart = calendar.getTimeInMillis();
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            tomorrowStart = calendar.getTimeInMillis();
+            calendar.add(Calendar.DAY_OF_MONTH, -2);
+            yesterdayStart = calendar.getTimeInMillis();
+            calendar.setTimeInMillis(todayStart);
+            // 周一为一周的第一天
+            int daysFromMonday = (calendar.get(Calendar.DAY_OF_WEEK) + 5) % 7;
+            calendar.add(Calendar.DAY_OF_MONTH, -daysFromMonday);
+            weekStart = calendar.getTimeInMillis();
+            weekStartDay = FastTimeFormat.floorDiv(toLocal(weekStart), FastTimeFormat.MILLIS_PER_DAY);
+            calendar.setTimeInMillis(todayStart);
+            calendar.set(Calendar.DAY_OF_YEAR, 1);
+            yearStart = calendar.getTimeInMillis();
+        }
+
+        /**
+         * UTC时间戳转换为本地时间的毫秒数
+         */
+        long toLocal(long millis) {
+            return millis + offsets.getOffset(millis);
+        }
+    }
+
+    /**
+     * 缓存的当前分钟格式化结果
+     */
+    private static final class MinuteText {
+
+        final long start;
+        final FastTimeFormat format;
+        final String text;
+
+        MinuteText(long start, FastTimeFormat format, String text) {
+            this.start = start;
+            this.format = format;
+            this.text = text;
+        }
+    }
+}
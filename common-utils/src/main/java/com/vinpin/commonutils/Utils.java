@@ -1,6 +1,10 @@
 package com.vinpin.commonutils;
 
 import android.app.Application;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
 import androidx.annotation.NonNull;
 
 /**
@@ -23,7 +27,18 @@ public class Utils {
      * @param app 应用
      */
     public static void init(@NonNull final Application app) {
+        if (Utils.sApplication == app) {
+            return;
+        }
         Utils.sApplication = app;
+        DisplayInfo.register(app);
+        app.registerComponentCallbacks(BitmapPool.CALLBACKS);
+        app.registerReceiver(new BroadcastReceiver() {
+            @Override
+            public void onReceive(Context context, Intent intent) {
+                DefaultTimeZone.refresh();
+            }
+        }, new IntentFilter(Intent.ACTION_TIMEZONE_CHANGED));
     }
 
     /**
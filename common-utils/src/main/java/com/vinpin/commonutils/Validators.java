@@ -0,0 +1,500 @@
+package com.vinpin.commonutils;
+
+/**
+ * 内置正则的手写实现
+ * <p>
+ * 逐字符扫描一次完成校验，不创建对象、不回溯。\d与\w只接受ASCII字符，
+ * 在JVM上与{@link RegexUtils.RegexConstants}中对应正则的匹配结果一致；
+ * Android的正则引擎（ICU）中\d与\w按Unicode匹配，含非ASCII数字、字母的输入结果可能不同。
+ * <p>正则字符类中用作分隔的','与'|'同样按字面字符接受，与正则保持一致。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class Validators {
+
+    /**
+     * 身份证校验码加权因子
+     */
+    private static final int[] ID_CARD_WEIGHTS = {7, 9, 10, 5, 8, 4, 2, 1, 6, 3, 7, 9, 10, 5, 8, 4, 2};
+    /**
+     * 加权和模11对应的校验码
+     */
+    private static final char[] ID_CARD_CHECK_CODES = {'1', '0', 'X', '9', '8', '7', '6', '5', '4', '3', '2'};
+
+    private static final int MOBILE = RegexUtils.RegexConstants.TYPE_MOBILE_SIMPLE
+            | RegexUtils.RegexConstants.TYPE_MOBILE_EXACT;
+    private static final int NAME = RegexUtils.RegexConstants.TYPE_NAME_30L | RegexUtils.RegexConstants.TYPE_NAME_15L;
+    private static final int NUMBER = RegexUtils.RegexConstants.TYPE_POSITIVE_INTEGER
+            | RegexUtils.RegexConstants.TYPE_NEGATIVE_INTEGER | RegexUtils.RegexConstants.TYPE_INTEGER
+            | RegexUtils.RegexConstants.TYPE_NOT_NEGATIVE_INTEGER | RegexUtils.RegexConstants.TYPE_NOT_POSITIVE_INTEGER
+            | RegexUtils.RegexConstants.TYPE_POSITIVE_FLOAT | RegexUtils.RegexConstants.TYPE_NEGATIVE_FLOAT;
+
+    private Validators() {
+        throw new UnsupportedOperationException("u can't instantiate me...");
+    }
+
+    static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * 判断[start, end)是否全为数字，区间为空返回true
+     */
+    private static boolean isDigits(final CharSequence s, int start, final int end) {
+        for (; start < end; start++) {
+            if (!isDigit(s.charAt(start))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_MOBILE_SIMPLE}
+     */
+    static boolean isMobileSimple(final CharSequence s) {
+        return s.length() == 11 && s.charAt(0) == '1' && isDigits(s, 1, 11);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_MOBILE_EXACT}
+     */
+    static boolean isMobileExact(final CharSequence s) {
+        return s.length() == 11 && s.charAt(0) == '1' && isMobilePrefix(s.charAt(1), s.charAt(2)) && isDigits(s, 3, 11);
+    }
+
+    /**
+     * 号段第二、三位：13[0-9]、14[5,7]、15[0-3,5-9]、17[0,1,3,5-8]、18[0-9]
+     */
+    static boolean isMobilePrefix(final char second, final char third) {
+        switch (second) {
+            case '3':
+            case '8':
+                return isDigit(third);
+            case '4':
+                return third == '5' || third == '7' || third == ',';
+            case '5':
+                return (isDigit(third) && third != '4') || third == ',';
+            case '7':
+                return third == '0' || third == '1' || third == '3' || (third >= '5' && third <= '8') || third == ',';
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_ID_CARD18}，只校验格式
+     */
+    static boolean isIDCard18(final CharSequence s) {
+        if (s.length() != 18) {
+            return false;
+        }
+        char last = s.charAt(17);
+        if (!isDigit(last) && last != 'X' && last != 'x') {
+            return false;
+        }
+        // 日的第一位为[0|1|2]或3
+        char dayFirst = s.charAt(12);
+        if (!isDigits(s, 0, 12) || !isDigits(s, 13, 17) || (!isDigit(dayFirst) && dayFirst != '|')
+                || s.charAt(0) == '0' || s.charAt(6) == '0') {
+            return false;
+        }
+        int month = (s.charAt(10) - '0') * 10 + s.charAt(11) - '0';
+        return month <= 12 && (dayFirst == '|' || (dayFirst - '0') * 10 + s.charAt(13) - '0' <= 31);
+    }
+
+    /**
+     * 在{@link #isIDCard18(CharSequence)}的基础上校验出生日期与ISO 7064 MOD 11-2校验码
+     */
+    static boolean isIDCard18Exact(final CharSequence s) {
+        if (s.length() != 18 || s.charAt(0) == '0' || s.charAt(6) == '0') {
+            return false;
+        }
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return false;
+            }
+            sum += (c - '0') * ID_CARD_WEIGHTS[i];
+        }
+        char last = s.charAt(17);
+        if (last == 'x') {
+            last = 'X';
+        }
+        if (last != ID_CARD_CHECK_CODES[sum % 11]) {
+            return false;
+        }
+        int year = (s.charAt(6) - '0') * 1000 + (s.charAt(7) - '0') * 100 + (s.charAt(8) - '0') * 10 + s.charAt(9) - '0';
+        int month = (s.charAt(10) - '0') * 10 + s.charAt(11) - '0';
+        int day = (s.charAt(12) - '0') * 10 + s.charAt(13) - '0';
+        return month >= 1 && month <= 12 && day >= 1 && day <= FastTimeFormat.daysInMonth(year, month);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_IP}
+     * <p>四段以'.'分隔，每段1至3位数字，3位时不大于255</p>
+     */
+    static boolean isIP(final CharSequence s) {
+        int length = s.length();
+        int parts = 0;
+        int i = 0;
+        while (true) {
+            int start = i;
+            int value = 0;
+            while (i < length && i - start < 3 && isDigit(s.charAt(i))) {
+                value = value * 10 + s.charAt(i) - '0';
+                i++;
+            }
+            if (i == start || value > 255) {
+                return false;
+            }
+            parts++;
+            if (parts == 4) {
+                return i == length;
+            }
+            if (i == length || s.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * 判断[start, end)是否为[1-9]\d*
+     */
+    private static boolean isNaturalNumber(final CharSequence s, final int start, final int end) {
+        return end > start && s.charAt(start) >= '1' && s.charAt(start) <= '9' && isDigits(s, start + 1, end);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_POSITIVE_INTEGER}
+     */
+    static boolean isPositiveInteger(final CharSequence s) {
+        return isNaturalNumber(s, 0, s.length());
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_NEGATIVE_INTEGER}
+     */
+    static boolean isNegativeInteger(final CharSequence s) {
+        return s.length() > 1 && s.charAt(0) == '-' && isNaturalNumber(s, 1, s.length());
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_INTEGER}
+     */
+    static boolean isInteger(final CharSequence s) {
+        return isPositiveInteger(s) || isNegativeInteger(s);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_NOT_NEGATIVE_INTEGER}
+     */
+    static boolean isNotNegativeInteger(final CharSequence s) {
+        return isPositiveInteger(s) || isZero(s);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_NOT_POSITIVE_INTEGER}
+     */
+    static boolean isNotPositiveInteger(final CharSequence s) {
+        return isNegativeInteger(s) || isZero(s);
+    }
+
+    private static boolean isZero(final CharSequence s) {
+        return s.length() == 1 && s.charAt(0) == '0';
+    }
+
+    /**
+     * 判断[start, end)是否为[1-9]\d*\.\d*或0\.\d*[1-9]\d*
+     */
+    private static boolean isUnsignedFloat(final CharSequence s, final int start, final int end) {
+        if (end - start < 2) {
+            return false;
+        }
+        char first = s.charAt(start);
+        if (first == '0') {
+            if (s.charAt(start + 1) != '.') {
+                return false;
+            }
+            boolean nonZero = false;
+            for (int i = start + 2; i < end; i++) {
+                char c = s.charAt(i);
+                if (!isDigit(c)) {
+                    return false;
+                }
+                nonZero |= c != '0';
+            }
+            return nonZero;
+        }
+        if (first < '1' || first > '9') {
+            return false;
+        }
+        int i = start + 1;
+        while (i < end && isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i < end && s.charAt(i) == '.' && isDigits(s, i + 1, end);
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_POSITIVE_FLOAT}
+     */
+    static boolean isPositiveFloat(final CharSequence s) {
+        return isUnsignedFloat(s, 0, s.length());
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_NEGATIVE_FLOAT}
+     */
+    static boolean isNegativeFloat(final CharSequence s) {
+        return s.length() > 0 && s.charAt(0) == '-' && isUnsignedFloat(s, 1, s.length());
+    }
+
+    static boolean isZh(final char c) {
+        return c >= '一' && c <= '龥';
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_ZH}
+     */
+    static boolean isZh(final CharSequence s) {
+        int length = s.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!isZh(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean isWord(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
+    }
+
+    /**
+     * 对应\s
+     */
+    static boolean isSpace(final char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * 对应{@link RegexUtils.RegexConstants#REGEX_NAME_30L}的字符集
+     */
+    private static boolean isNameChar(final char c) {
+        if (c < 0x80) {
+            return isWord(c) || c == '(' || c == ')' || c == '-' || c == '.' || c == '|';
+        }
+        return isZh(c) || c == '、' || c == '（' || c == '）' || c == '，';
+    }
+
+    /**
+     * 一次扫描判断输入匹配哪些内置正则，见{@link RegexUtils#classify(CharSequence, int)}
+     * <p>各正则对应一个状态机，逐字符同时推进，全部失败时提前结束</p>
+     */
+    static int classify(final CharSequence s, final int types) {
+        final int length = s.length();
+        if (length == 0) {
+            return 0;
+        }
+        int alive = types & RegexUtils.RegexConstants.TYPE_ALL;
+        if (length != 11) {
+            alive &= ~(RegexUtils.RegexConstants.TYPE_MOBILE_SIMPLE | RegexUtils.RegexConstants.TYPE_MOBILE_EXACT);
+        }
+        if (length != 18) {
+            alive &= ~RegexUtils.RegexConstants.TYPE_ID_CARD18;
+        }
+        if (length < 6 || length > 20) {
+            alive &= ~RegexUtils.RegexConstants.TYPE_USERNAME;
+        }
+        if (length > 30) {
+            alive &= ~RegexUtils.RegexConstants.TYPE_NAME_30L;
+        }
+        if (length > 15) {
+            alive &= ~RegexUtils.RegexConstants.TYPE_NAME_15L;
+        }
+        if (length < 7 || length > 15) {
+            alive &= ~RegexUtils.RegexConstants.TYPE_IP;
+        }
+        // 邮箱：是否已过'@'、当前是否处于\w段中、域名中是否出现过'.'
+        boolean emailDomain = false;
+        boolean emailInWord = false;
+        boolean emailDot = false;
+        // URL：0协议名，1已读':'，2已读":/"，3已读"://"
+        int urlState = 0;
+        // IP：已完成的段数、当前段的位数与数值
+        int ipParts = 0;
+        int ipDigits = 0;
+        int ipValue = 0;
+        // 整数与浮点数：符号、整数部分位数与首位、是否有小数点、小数部分是否有非0数字
+        boolean negative = false;
+        int intDigits = 0;
+        char intFirst = 0;
+        boolean dot = false;
+        boolean fracNonZero = false;
+        char prev = 0;
+        for (int i = 0; i < length && alive != 0; i++) {
+            final char c = s.charAt(i);
+            final boolean digit = isDigit(c);
+            final boolean word = isWord(c);
+            final boolean zh = isZh(c);
+            if ((alive & MOBILE) != 0) {
+                if (i == 2) {
+                    if (!digit) {
+                        alive &= ~RegexUtils.RegexConstants.TYPE_MOBILE_SIMPLE;
+                    }
+                    if (!isMobilePrefix(prev, c)) {
+                        alive &= ~RegexUtils.RegexConstants.TYPE_MOBILE_EXACT;
+                    }
+                } else if (i == 0 ? c != '1' : !digit) {
+                    alive &= ~MOBILE;
+                }
+            }
+            if ((alive & RegexUtils.RegexConstants.TYPE_ID_CARD18) != 0) {
+                boolean valid;
+                if (i == 17) {
+                    valid = digit || c == 'X' || c == 'x';
+                } else if (i == 12) {
+                    valid = digit ? c <= '3' : c == '|';
+                } else {
+                    valid = digit && !((i == 0 || i == 6) && c == '0') && !(i == 10 && c > '1')
+                            && !(i == 11 && prev == '1' && c > '2') && !(i == 13 && prev == '3' && c > '1');
+                }
+                if (!valid) {
+                    alive &= ~RegexUtils.RegexConstants.TYPE_ID_CARD18;
+                }
+            }
+            if ((alive & RegexUtils.RegexConstants.TYPE_EMAIL) != 0) {
+                boolean valid = true;
+                if (word) {
+                    emailInWord = true;
+                } else if (c == '@') {
+                    valid = !emailDomain && emailInWord;
+                    emailDomain = true;
+                    emailInWord = false;
+                } else if (c == '-' || c == '.' || (c == '+' && !emailDomain)) {
+                    valid = emailInWord;
+                    emailInWord = false;
+                    emailDot |= emailDomain && c == '.';
+                } else {
+                    valid = false;
+                }
+                if (!valid) {
+                    alive &= ~RegexUtils.RegexConstants.TYPE_EMAIL;
+                }
+            }
+            if ((alive & RegexUtils.RegexConstants.TYPE_URL) != 0) {
+                boolean valid;
+                if (urlState == 0) {
+                    // [a-zA-z]包含'A'至'z'之间的所有字符
+                    if (c == ':' && i > 0) {
+                        urlState = 1;
+                        valid = true;
+                    } else {
+                        valid = c >= 'A' && c <= 'z';
+                    }
+                } else if (urlState < 3) {
+                    valid = c == '/';
+                    urlState++;
+                } else {
+                    valid = !isSpace(c);
+                }
+                if (!valid) {
+                    alive &= ~RegexUtils.RegexConstants.TYPE_URL;
+                }
+            }
+            if (!zh) {
+                alive &= ~RegexUtils.RegexConstants.TYPE_ZH;
+                if (!word) {
+                    alive &= ~RegexUtils.RegexConstants.TYPE_USERNAME;
+                    if (c != '-') {
+                        alive &= ~RegexUtils.RegexConstants.TYPE_USERNAME_1;
+                    }
+                }
+            }
+            if ((alive & NAME) != 0 && !isNameChar(c)) {
+                alive &= ~NAME;
+            }
+            if ((alive & RegexUtils.RegexConstants.TYPE_IP) != 0) {
+                boolean valid;
+                if (digit) {
+                    ipValue = ipValue * 10 + c - '0';
+                    valid = ++ipDigits < 3 || (ipDigits == 3 && ipValue <= 255);
+                } else if (c == '.') {
+                    valid = ipDigits > 0 && ++ipParts < 4;
+                    ipDigits = 0;
+                    ipValue = 0;
+                } else {
+                    valid = false;
+                }
+                if (!valid) {
+                    alive &= ~RegexUtils.RegexConstants.TYPE_IP;
+                }
+            }
+            if ((alive & NUMBER) != 0) {
+                boolean valid = true;
+                if (digit) {
+                    if (dot) {
+                        fracNonZero |= c != '0';
+                    } else if (intDigits++ == 0) {
+                        intFirst = c;
+                    }
+                } else if (c == '-') {
+                    valid = i == 0;
+                    negative = true;
+                } else if (c == '.') {
+                    valid = !dot && intDigits > 0;
+                    dot = true;
+                } else {
+                    valid = false;
+                }
+                if (!valid) {
+                    alive &= ~NUMBER;
+                }
+            }
+            prev = c;
+        }
+        if (alive == 0) {
+            return 0;
+        }
+        int result = alive & (MOBILE | NAME | RegexUtils.RegexConstants.TYPE_ID_CARD18
+                | RegexUtils.RegexConstants.TYPE_ZH | RegexUtils.RegexConstants.TYPE_USERNAME_1);
+        if (s.charAt(length - 1) != '_') {
+            result |= alive & RegexUtils.RegexConstants.TYPE_USERNAME;
+        }
+        if (emailDomain && emailInWord && emailDot) {
+            result |= alive & RegexUtils.RegexConstants.TYPE_EMAIL;
+        }
+        if (urlState == 3) {
+            result |= alive & RegexUtils.RegexConstants.TYPE_URL;
+        }
+        if (ipParts == 3 && ipDigits > 0) {
+            result |= alive & RegexUtils.RegexConstants.TYPE_IP;
+        }
+        if ((alive & NUMBER) != 0) {
+            boolean natural = !dot && intDigits > 0 && intFirst != '0';
+            boolean zero = !negative && !dot && intDigits == 1 && intFirst == '0';
+            boolean isFloat = dot && intDigits > 0 && (intFirst != '0' || (intDigits == 1 && fracNonZero));
+            int number = 0;
+            if (natural) {
+                number |= RegexUtils.RegexConstants.TYPE_INTEGER | (negative
+                        ? RegexUtils.RegexConstants.TYPE_NEGATIVE_INTEGER | RegexUtils.RegexConstants.TYPE_NOT_POSITIVE_INTEGER
+                        : RegexUtils.RegexConstants.TYPE_POSITIVE_INTEGER | RegexUtils.RegexConstants.TYPE_NOT_NEGATIVE_INTEGER);
+            } else if (zero) {
+                number |= RegexUtils.RegexConstants.TYPE_NOT_NEGATIVE_INTEGER
+                        | RegexUtils.RegexConstants.TYPE_NOT_POSITIVE_INTEGER;
+            } else if (isFloat) {
+                number |= negative ? RegexUtils.RegexConstants.TYPE_NEGATIVE_FLOAT
+                        : RegexUtils.RegexConstants.TYPE_POSITIVE_FLOAT;
+            }
+            result |= alive & number;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,63 @@
+package com.vinpin.commonutils;
+
+import java.util.TimeZone;
+
+/**
+ * 时区偏移缓存
+ * <p>
+ * 按UTC日缓存偏移量：一天内偏移不变时直接返回缓存值，只有含夏令时切换的那天才查询时区，
+ * 连续或相近的时间戳查询均摊为O(1)。实例线程安全。
+ *
+ * @author zwp
+ * create at 2026/10/18 10:00
+ */
+final class ZoneOffsetCache {
+
+    private static final int SIZE = 256;
+    private static final long MILLIS_PER_DAY = 86400000L;
+
+    private final TimeZone mTimeZone;
+    private final Entry[] mEntries = new Entry[SIZE];
+
+    ZoneOffsetCache(final TimeZone timeZone) {
+        mTimeZone = timeZone;
+    }
+
+    TimeZone getTimeZone() {
+        return mTimeZone;
+    }
+
+    /**
+     * 获取UTC时间对应的时区偏移
+     *
+     * @param millis 毫秒时间戳
+     * @return 偏移毫秒数
+     */
+    int getOffset(final long millis) {
+        long day = FastTimeFormat.floorDiv(millis, MILLIS_PER_DAY);
+        int index = (int) (day & (SIZE - 1));
+        Entry entry = mEntries[index];
+        if (entry == null || entry.day != day) {
+            long start = day * MILLIS_PER_DAY;
+            int offset = mTimeZone.getOffset(start);
+            // 假定一个UTC日内最多发生一次偏移变化
+            entry = new Entry(day, offset, offset == mTimeZone.getOffset(start + MILLIS_PER_DAY - 1));
+            // Entry不可变，并发写入时任一结果均有效
+            mEntries[index] = entry;
+        }
+        return entry.uniform ? entry.offset : mTimeZone.getOffset(millis);
+    }
+
+    private static final class Entry {
+
+        final long day;
+        final int offset;
+        final boolean uniform;
+
+        Entry(final long day, final int offset, final boolean uniform) {
+            this.day = day;
+            this.offset = offset;
+            this.uniform = uniform;
+        }
+    }
+}
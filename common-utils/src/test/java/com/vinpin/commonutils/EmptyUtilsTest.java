@@ -0,0 +1,51 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.Assert.*;
+
+public class EmptyUtilsTest {
+
+    @Test
+    public void isEmpty() {
+        assertTrue(EmptyUtils.isEmpty((Object) null));
+        assertTrue(EmptyUtils.isEmpty((Object) ""));
+        assertTrue(EmptyUtils.isEmpty((Object) new StringBuilder()));
+        assertFalse(EmptyUtils.isEmpty((Object) "a"));
+        assertTrue(EmptyUtils.isEmpty((Object) new String[0]));
+        assertFalse(EmptyUtils.isEmpty((Object) new Integer[1]));
+        assertTrue(EmptyUtils.isEmpty((Object) new int[0]));
+        assertFalse(EmptyUtils.isEmpty((Object) new double[1]));
+        assertTrue(EmptyUtils.isEmpty((Object) new ArrayList<String>()));
+        assertFalse(EmptyUtils.isEmpty((Object) Collections.singleton(1)));
+        assertTrue(EmptyUtils.isEmpty((Object) new HashMap<String, String>()));
+        assertFalse(EmptyUtils.isEmpty((Object) 0));
+        assertTrue(EmptyUtils.isEmpty(new ArrayList<String>()));
+        assertTrue(EmptyUtils.isNotEmpty(new long[]{1}));
+    }
+
+    @Test
+    public void register() {
+        Box box = new Box();
+        assertFalse(EmptyUtils.isEmpty((Object) box));
+        EmptyUtils.register(Box.class, new EmptyUtils.EmptyStrategy<Box>() {
+            @Override
+            public boolean isEmpty(Box obj) {
+                return obj.size == 0;
+            }
+        });
+        assertTrue(EmptyUtils.isEmpty((Object) box));
+        box.size = 1;
+        assertFalse(EmptyUtils.isEmpty((Object) box));
+        assertTrue(EmptyUtils.isEmpty((Object) new Box() {
+        }));
+    }
+
+    private static class Box {
+        int size;
+    }
+}
@@ -0,0 +1,140 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class FastTimeFormatTest {
+
+    private static final String[] ZONES = {"UTC", "Asia/Shanghai", "America/New_York", "Asia/Kolkata", "Australia/Lord_Howe"};
+
+    @Test
+    public void format() {
+        FastTimeFormat format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_ISO_8601, TimeZone.getTimeZone("Asia/Shanghai"));
+        assertEquals("2016-08-12T15:44:40.461+0800", format.format(1470987880461L));
+        format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM, TimeZone.getTimeZone("UTC"));
+        assertEquals("1969-12-31 23:59", format.format(-1L));
+    }
+
+    @Test
+    public void formatSameAsSimpleDateFormat() {
+        Random random = new Random(20161018);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (int style = FastTimeFormat.STYLE_YMD_HM; style <= FastTimeFormat.STYLE_ISO_8601; style++) {
+                FastTimeFormat format = FastTimeFormat.getInstance(style, zone);
+                SimpleDateFormat expected = new SimpleDateFormat(format.getPattern(), Locale.US);
+                expected.setTimeZone(zone);
+                StringBuilder sb = new StringBuilder();
+                for (int i = 0; i < 2000; i++) {
+                    // 1600年至2400年之间
+                    long millis = -11676096000000L + (long) (random.nextDouble() * 25245000000000L);
+                    String text = expected.format(new Date(millis));
+                    assertEquals(text, format.format(millis));
+                    sb.setLength(0);
+                    format.format(millis, sb);
+                    assertEquals(text, sb.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void parse() {
+        TimeZone shanghai = TimeZone.getTimeZone("Asia/Shanghai");
+        FastTimeFormat format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HMS, shanghai);
+        assertEquals(1470987880000L, format.parse("2016-08-12 15:44:40"));
+        assertEquals(1470987880000L, format.parse("[2016-08-12 15:44:40]", 1, 20));
+        format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_ISO_8601, shanghai);
+        assertEquals(1470987880461L, format.parse("2016-08-12T15:44:40.461+0800"));
+        assertEquals(1470987880461L, format.parse("2016-08-12T15:44:40.461+08:00"));
+        assertEquals(1470987880461L, format.parse("2016-08-12T07:44:40.461Z"));
+        format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_HM, TimeZone.getTimeZone("UTC"));
+        assertEquals(56640000L, format.parse("15:44"));
+    }
+
+    @Test
+    public void parseError() {
+        FastTimeFormat format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HM, TimeZone.getTimeZone("UTC"));
+        String[] inputs = {null, "", "2016-08-12", "2016-08-12 15:4", "2016-08-12 15:44:40", "2016-13-12 15:44",
+                "2016-02-30 15:44", "2015-02-29 15:44", "2016-08-12 24:00", "2016-08-12 15:60", "2016/08/12 15:44",
+                "2016-08-12T15:44", "0000-01-01 00:00", "2016-0a-12 15:44"};
+        for (String input : inputs) {
+            assertEquals(input, FastTimeFormat.PARSE_ERROR, format.parse(input));
+        }
+        assertEquals(951782400000L, format.parse("2000-02-29 00:00"));
+    }
+
+    @Test
+    public void parseSameAsFormat() {
+        Random random = new Random(20161018);
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            FastTimeFormat iso = FastTimeFormat.getInstance(FastTimeFormat.STYLE_ISO_8601, zone);
+            FastTimeFormat ymdHms = FastTimeFormat.getInstance(FastTimeFormat.STYLE_YMD_HMS, zone);
+            SimpleDateFormat expected = new SimpleDateFormat(ymdHms.getPattern(), Locale.US);
+            expected.setTimeZone(zone);
+            for (int i = 0; i < 2000; i++) {
+                // 1970年至2100年之间，更早的地方平时偏移含秒数，无法由+HHmm还原
+                long millis = (long) (random.nextDouble() * 4102444800000L);
+                assertEquals(millis, iso.parse(iso.format(millis)));
+                String text = ymdHms.format(millis);
+                assertEquals(text, expected.parse(text, new java.text.ParsePosition(0)).getTime(), ymdHms.parse(text));
+            }
+        }
+    }
+
+    @Test
+    public void formatBatch() {
+        Random random = new Random(20161018);
+        long[] millis = new long[5000];
+        long current = 1470987880461L;
+        for (int i = 0; i < millis.length; i++) {
+            // 大部分间隔在同一分钟或同一天内，偶尔跨天或回退
+            current += random.nextInt(10) == 0 ? random.nextInt(172800000) - 43200000 : random.nextInt(90000);
+            millis[i] = current;
+        }
+        for (String id : ZONES) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (int style = FastTimeFormat.STYLE_YMD_HM; style <= FastTimeFormat.STYLE_ISO_8601; style++) {
+                FastTimeFormat format = FastTimeFormat.getInstance(style, zone);
+                String[] texts = format.format(millis);
+                char[] buf = new char[millis.length * format.getLength() + 3];
+                int[] offsets = new int[millis.length + 1];
+                assertEquals(buf.length, format.format(millis, 0, millis.length, buf, 3, offsets));
+                for (int i = 0; i < millis.length; i++) {
+                    String expected = format.format(millis[i]);
+                    assertEquals(expected, texts[i]);
+                    assertEquals(expected, new String(buf, offsets[i], offsets[i + 1] - offsets[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void defaultInstanceFollowsRefresh() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            TimeUtils.refreshTimeZone();
+            FastTimeFormat format = FastTimeFormat.getInstance(FastTimeFormat.STYLE_HM);
+            assertSame(format, FastTimeFormat.getInstance(FastTimeFormat.STYLE_HM));
+            assertEquals("08:00", format.format(0L));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            TimeUtils.refreshTimeZone();
+            assertEquals("00:00", FastTimeFormat.getInstance(FastTimeFormat.STYLE_HM).format(0L));
+            // 已获取的实例保持原时区
+            assertEquals("08:00", format.format(0L));
+        } finally {
+            TimeZone.setDefault(original);
+            TimeUtils.refreshTimeZone();
+        }
+    }
+}
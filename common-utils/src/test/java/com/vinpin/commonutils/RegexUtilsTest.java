@@ -0,0 +1,477 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class RegexUtilsTest {
+
+    @Test
+    public void validatorsMatchRegex() {
+        Random random = new Random(13);
+        String[] alphabets = {"0123456789", "0123456789.", "0123456789-.", "0123456789Xx", "19.-0a一龥", "0123456789,|"};
+        for (int i = 0; i < 200000; i++) {
+            String alphabet = alphabets[i % alphabets.length];
+            int length = random.nextInt(i % 7 == 0 ? 20 : 16);
+            StringBuilder sb = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (i % 3 == 0 && length > 0) {
+                sb.setCharAt(0, '1');
+            }
+            assertSameResult(sb.toString());
+        }
+        for (int a = 0; a < 300; a += 7) {
+            for (int b = 0; b < 1000; b += 13) {
+                assertSameResult(a + "." + b + ".0." + (b % 300));
+                assertSameResult("0" + a + ".00" + b + ".1.1");
+            }
+        }
+        String[] samples = {"", "0", "-0", "0.", "0.0", "0.00", "0.01", "1.", "-1.", "10.0", "-0.10", "1", "-1",
+                "13800138000", "14500000000", "14800000000", "15400000000", "17200000000", "1,000000000", "14,00000000", "15,00000000", "17,00000000",
+                "110105194912|10020",
+                "110105194912310020", "110105194913310020", "110105194912320020", "1.1.1.1", "255.255.255.255",
+                "256.1.1.1", "1.1.1", "1.1.1.1.", "中文", "中a"};
+        for (String sample : samples) {
+            assertSameResult(sample);
+        }
+    }
+
+    private static void assertSameResult(final String s) {
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_MOBILE_SIMPLE, s), RegexUtils.isMobileSimple(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_MOBILE_EXACT, s), RegexUtils.isMobileExact(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_ID_CARD18, s), RegexUtils.isIDCard18(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_IP, s), RegexUtils.isIP(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_ZH, s), RegexUtils.isZh(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_INTEGER, s), RegexUtils.isInteger(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_POSITIVE_INTEGER, s),
+                RegexUtils.isPositiveInteger(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_NEGATIVE_INTEGER, s),
+                RegexUtils.isNegativeInteger(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_NOT_NEGATIVE_INTEGER, s),
+                RegexUtils.isNumeric(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_NOT_POSITIVE_INTEGER, s),
+                RegexUtils.isNotPositiveInteger(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_POSITIVE_FLOAT, s),
+                RegexUtils.isPositiveFloat(s));
+        assertEquals(s, Pattern.matches(RegexUtils.RegexConstants.REGEX_NEGATIVE_FLOAT, s),
+                RegexUtils.isNegativeFloat(s));
+    }
+
+    @Test
+    public void classify() {
+        String[] regexes = {RegexUtils.RegexConstants.REGEX_MOBILE_SIMPLE, RegexUtils.RegexConstants.REGEX_MOBILE_EXACT,
+                RegexUtils.RegexConstants.REGEX_ID_CARD18, RegexUtils.RegexConstants.REGEX_EMAIL,
+                RegexUtils.RegexConstants.REGEX_URL, RegexUtils.RegexConstants.REGEX_ZH,
+                RegexUtils.RegexConstants.REGEX_USERNAME, RegexUtils.RegexConstants.REGEX_USERNAME_1,
+                RegexUtils.RegexConstants.REGEX_NAME_30L, RegexUtils.RegexConstants.REGEX_NAME_15L,
+                RegexUtils.RegexConstants.REGEX_IP, RegexUtils.RegexConstants.REGEX_POSITIVE_INTEGER,
+                RegexUtils.RegexConstants.REGEX_NEGATIVE_INTEGER, RegexUtils.RegexConstants.REGEX_INTEGER,
+                RegexUtils.RegexConstants.REGEX_NOT_NEGATIVE_INTEGER, RegexUtils.RegexConstants.REGEX_NOT_POSITIVE_INTEGER,
+                RegexUtils.RegexConstants.REGEX_POSITIVE_FLOAT, RegexUtils.RegexConstants.REGEX_NEGATIVE_FLOAT};
+        Pattern[] patterns = new Pattern[regexes.length];
+        for (int i = 0; i < regexes.length; i++) {
+            patterns[i] = Pattern.compile(regexes[i]);
+        }
+        Random random = new Random(14);
+        String[] alphabets = {"0123456789.-", "ab1_@.-+", "ab:/ \t[Z", "a_一龥（），、|()", "19.-0Xx"};
+        String[] samples = {"", "a@b.c", "a.b+c@d-e.f.g", "a@b", "a@@b.c", "http://x y", "http://", "a://b", "Z[://",
+                "user_1", "user__", "张三_abc", "0", "-0", "0.5", "-1.", "192.168.1.1", "13800138000", "11010519491231002X",
+                "14,00000000", "110105194912|10020",
+                "张三（测试），、", "1234567890123456789012345678901"};
+        for (String sample : samples) {
+            assertClassify(patterns, sample);
+        }
+        for (int i = 0; i < 200000; i++) {
+            String alphabet = alphabets[i % alphabets.length];
+            int length = random.nextInt(i % 5 == 0 ? 34 : 12);
+            StringBuilder sb = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertClassify(patterns, sb.toString());
+        }
+        assertEquals(RegexUtils.RegexConstants.TYPE_EMAIL, RegexUtils.classify("a@b.c",
+                RegexUtils.RegexConstants.TYPE_EMAIL | RegexUtils.RegexConstants.TYPE_URL));
+        assertEquals(0, RegexUtils.classify(null));
+    }
+
+    private static void assertClassify(final Pattern[] patterns, final String s) {
+        int expected = 0;
+        for (int i = 0; i < patterns.length; i++) {
+            if (patterns[i].matcher(s).matches()) {
+                expected |= 1 << i;
+            }
+        }
+        assertEquals(s, Integer.toBinaryString(expected), Integer.toBinaryString(RegexUtils.classify(s)));
+    }
+
+    @Test
+    public void extract() throws IOException {
+        Random random = new Random(15);
+        String[] words = {"联系", "13800138000", "a.b+c@mail.example.com", "https://example.com/path?q=1", " ", "\n",
+                "138001380001", "x", "1", "-", "@", ".", "ftp://", "张三", "user_name", "15012345678,", "0"};
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 100000) {
+            sb.append(words[random.nextInt(words.length)]);
+        }
+        final String text = sb.toString();
+        final List<String> expected = new ArrayList<>();
+        RegexUtils.extract(text, new RegexUtils.OnMatchListener() {
+            @Override
+            public void onMatch(int type, CharSequence t, int start, int end, long position) {
+                assertEquals(start, position);
+                expected.add(type + ":" + position + ":" + t.subSequence(start, end));
+            }
+        });
+        assertTrue(expected.size() > 1000);
+        assertEquals(extractByRegex(text), expected);
+        final List<String> actual = new ArrayList<>();
+        final Random reads = new Random(16);
+        RegexUtils.extract(new StringReader(text) {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 1 + reads.nextInt(5000)));
+            }
+        }, new RegexUtils.OnMatchListener() {
+            @Override
+            public void onMatch(int type, CharSequence t, int start, int end, long position) {
+                assertEquals(text.substring((int) position, (int) position + end - start),
+                        t.subSequence(start, end).toString());
+                actual.add(type + ":" + position + ":" + t.subSequence(start, end));
+            }
+        });
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * 提取逻辑的原始正则，只用于对照，长单词或深层分隔时会大量回溯甚至栈溢出
+     */
+    private static final Pattern ENTITY = Pattern.compile(
+            "([a-zA-Z]+://[^\\s]+)"
+                    + "|(\\w+(?:[-+.]\\w+)*@\\w+(?:[-.]\\w+)*\\.\\w+(?:[-.]\\w+)*)"
+                    + "|((?<!\\d)(?:13\\d|14[5,7]|15[0-3,5-9]|17[0,1,3,5-8]|18\\d)\\d{8}(?!\\d))");
+    private static final Pattern MOBILE = Pattern.compile("(?:13\\d|14[5,7]|15[0-3,5-9]|17[0,1,3,5-8]|18\\d)\\d{8}");
+
+    private static List<String> extract(final String text) {
+        final List<String> result = new ArrayList<>();
+        RegexUtils.extract(text, new RegexUtils.OnMatchListener() {
+            @Override
+            public void onMatch(int type, CharSequence t, int start, int end, long position) {
+                result.add(type + ":" + position + ":" + t.subSequence(start, end));
+            }
+        });
+        return result;
+    }
+
+    private static List<String> extractByRegex(final String text) {
+        List<String> result = new ArrayList<>();
+        java.util.regex.Matcher matcher = ENTITY.matcher(text);
+        while (matcher.find()) {
+            int type = matcher.start(1) >= 0 ? RegexUtils.RegexConstants.TYPE_URL
+                    : matcher.start(2) >= 0 ? RegexUtils.RegexConstants.TYPE_EMAIL : RegexUtils.RegexConstants.TYPE_MOBILE_EXACT;
+            result.add(type + ":" + matcher.start() + ":" + matcher.group());
+        }
+        return result;
+    }
+
+    /**
+     * 按定义逐个起点尝试，不回溯也不递归，用于正则无法处理的长输入
+     */
+    private static List<String> extractNaively(final String s) {
+        List<String> result = new ArrayList<>();
+        int from = 0;
+        search:
+        while (from < s.length()) {
+            for (int p = from; p < s.length(); p++) {
+                int[] ends = {naiveUrl(s, p), naiveEmail(s, p), naiveMobile(s, p)};
+                int[] types = {RegexUtils.RegexConstants.TYPE_URL, RegexUtils.RegexConstants.TYPE_EMAIL,
+                        RegexUtils.RegexConstants.TYPE_MOBILE_EXACT};
+                for (int k = 0; k < 3; k++) {
+                    if (ends[k] > 0) {
+                        result.add(types[k] + ":" + p + ":" + s.substring(p, ends[k]));
+                        from = ends[k];
+                        continue search;
+                    }
+                }
+            }
+            break;
+        }
+        return result;
+    }
+
+    private static boolean naiveWord(final String s, final int i) {
+        return i < s.length() && (Character.isLetterOrDigit(s.charAt(i)) || s.charAt(i) == '_') && s.charAt(i) < 0x80;
+    }
+
+    private static int naiveUrl(final String s, final int p) {
+        int i = p;
+        while (i < s.length() && s.charAt(i) < 0x80 && Character.isLetter(s.charAt(i))) {
+            i++;
+        }
+        if (i == p || !s.startsWith("://", i) || i + 3 >= s.length() || Character.isWhitespace(s.charAt(i + 3))) {
+            return -1;
+        }
+        int j = i + 3;
+        while (j < s.length() && !Character.isWhitespace(s.charAt(j))) {
+            j++;
+        }
+        return j;
+    }
+
+    private static int naiveEmail(final String s, final int p) {
+        if (!naiveWord(s, p)) {
+            return -1;
+        }
+        int i = p;
+        while (true) {
+            while (naiveWord(s, i)) {
+                i++;
+            }
+            if (i < s.length() && s.charAt(i) == '@') {
+                break;
+            }
+            if (i < s.length() && "-+.".indexOf(s.charAt(i)) >= 0 && naiveWord(s, i + 1)) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+        int j = i + 1;
+        if (!naiveWord(s, j)) {
+            return -1;
+        }
+        boolean dot = false;
+        while (true) {
+            while (naiveWord(s, j)) {
+                j++;
+            }
+            if (j < s.length() && "-.".indexOf(s.charAt(j)) >= 0 && naiveWord(s, j + 1)) {
+                dot |= s.charAt(j) == '.';
+                j++;
+            } else {
+                break;
+            }
+        }
+        return dot ? j : -1;
+    }
+
+    private static int naiveMobile(final String s, final int p) {
+        if (p + 11 > s.length() || !MOBILE.matcher(s.substring(p, p + 11)).matches()
+                || (p > 0 && Character.isDigit(s.charAt(p - 1)))
+                || (p + 11 < s.length() && Character.isDigit(s.charAt(p + 11)))) {
+            return -1;
+        }
+        return p + 11;
+    }
+
+    @Test
+    public void extractSameAsRegex() {
+        Random random = new Random(17);
+        String[] words = {"a", "Z", "1", "3", "8", "5", "_", "@", ".", "-", "+", ":", "/", "://", " ", "\t", ",", "|",
+                "中", "13800138000", "14,", "a.b", "@x.cn"};
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(60);
+            while (sb.length() < length) {
+                sb.append(words[random.nextInt(words.length)]);
+            }
+            String text = sb.toString();
+            List<String> expected = extractByRegex(text);
+            assertEquals(text, expected, extract(text));
+            assertEquals(text, expected, extractNaively(text));
+        }
+    }
+
+    @Test
+    public void extractLongTokens() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        // 深层分隔，原正则在此栈溢出
+        for (int i = 0; i < 2000; i++) {
+            sb.append("a.");
+        }
+        sb.append("a@b");
+        for (int i = 0; i < 2000; i++) {
+            sb.append("-c.d");
+        }
+        sb.append(" 13800138000 ");
+        for (int i = 0; i < 3000; i++) {
+            sb.append("a+");
+        }
+        sb.append(" http");
+        for (int i = 0; i < 1000; i++) {
+            sb.append("x");
+        }
+        sb.append("://y ");
+        for (int i = 0; i < 3000; i++) {
+            sb.append(i % 2 == 0 ? "13800138000" : ",");
+        }
+        final String text = sb.toString();
+        List<String> expected = extractNaively(text);
+        assertTrue(expected.size() > 1000);
+        assertEquals(expected, extract(text));
+        final List<String> actual = new ArrayList<>();
+        RegexUtils.extract(new StringReader(text), new RegexUtils.OnMatchListener() {
+            @Override
+            public void onMatch(int type, CharSequence t, int start, int end, long position) {
+                actual.add(type + ":" + position + ":" + t.subSequence(start, end));
+            }
+        });
+        // 超过MAX_MATCH_LENGTH的邮箱在读取文本流时会被截断，只比较之后的部分
+        assertEquals(expected.subList(1, expected.size()), actual.subList(actual.size() - expected.size() + 1, actual.size()));
+
+        // 10万个字符的单词，扫描次数与长度成正比
+        sb.setLength(0);
+        for (int i = 0; i < 100000; i++) {
+            sb.append('w');
+        }
+        String word = sb.toString();
+        assertEquals(Collections.singletonList(RegexUtils.RegexConstants.TYPE_EMAIL + ":0:" + word + "@" + word + ".cn"),
+                extract(word + "@" + word + ".cn"));
+        assertEquals(Collections.singletonList(RegexUtils.RegexConstants.TYPE_URL + ":0:" + word + "://" + word),
+                extract(word + "://" + word));
+        assertEquals(Collections.emptyList(), extract(word + "@" + word + " " + word + ":/" + word));
+    }
+
+    @Test
+    public void matchWithTimeout() {
+        assertEquals(RegexUtils.RESULT_MATCHED, RegexUtils.match(RegexUtils.RegexConstants.REGEX_EMAIL, "a.b@c.com", 1000));
+        assertEquals(RegexUtils.RESULT_NOT_MATCHED, RegexUtils.match(RegexUtils.RegexConstants.REGEX_EMAIL, "a.b", 1000));
+        StringBuilder hostile = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            hostile.append('a');
+        }
+        hostile.append('!');
+        long timeouts = RegexUtils.getTimeoutCount();
+        long start = System.nanoTime();
+        assertEquals(RegexUtils.RESULT_TIMEOUT, RegexUtils.match("(a+)+\\1b", hostile, 50));
+        assertTrue(System.nanoTime() - start < 1000000000L);
+        assertEquals(timeouts + 1, RegexUtils.getTimeoutCount());
+    }
+
+    @Test
+    public void matchRefusesWhenStuck() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        // 忽略中断与截止时间的输入，模拟Android上无法中止的匹配
+        CharSequence stuck = new CharSequence() {
+            @Override
+            public int length() {
+                return 8;
+            }
+
+            @Override
+            public char charAt(int index) {
+                while (release.getCount() > 0) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                        // 继续等待
+                    }
+                }
+                return 'a';
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return toString().subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                return "aaaaaaaa";
+            }
+        };
+        try {
+            for (int i = 0; i < 4; i++) {
+                assertEquals(RegexUtils.RESULT_TIMEOUT, RegexUtils.match("a+", stuck, 50));
+            }
+            long rejected = RegexUtils.getRejectedCount();
+            long start = System.nanoTime();
+            assertEquals(RegexUtils.RESULT_REJECTED, RegexUtils.match("a+", "aaa", 1000));
+            assertTrue(System.nanoTime() - start < 50000000L);
+            assertEquals(rejected + 1, RegexUtils.getRejectedCount());
+        } finally {
+            release.countDown();
+        }
+        // 卡住的匹配结束后恢复
+        int result = RegexUtils.RESULT_REJECTED;
+        for (int i = 0; i < 100 && result == RegexUtils.RESULT_REJECTED; i++) {
+            Thread.sleep(10);
+            result = RegexUtils.match("a+", "aaa", 1000);
+        }
+        assertEquals(RegexUtils.RESULT_MATCHED, result);
+    }
+
+    @Test
+    public void matchConcurrently() throws InterruptedException {
+        long timeouts = RegexUtils.getTimeoutCount();
+        long rejected = RegexUtils.getRejectedCount();
+        final int[] results = new int[16];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = RegexUtils.match("a+b", "aaaaab", 5000);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int result : results) {
+            assertEquals(RegexUtils.RESULT_MATCHED, result);
+        }
+        assertEquals(timeouts, RegexUtils.getTimeoutCount());
+        assertEquals(rejected, RegexUtils.getRejectedCount());
+    }
+
+    @Test
+    public void validate() {
+        Random random = new Random(17);
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 50000; i++) {
+            inputs.add(i % 1000 == 0 ? null : "1" + (3 + random.nextInt(6)) + (100000000 + random.nextInt(900000000)));
+        }
+        BitSet valid = RegexUtils.isMobileExact(inputs);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            assertEquals(RegexUtils.isMobileExact(inputs.get(i)), valid.get(i));
+            if (valid.get(i)) {
+                expected.add(inputs.get(i));
+            }
+        }
+        assertTrue(valid.cardinality() > 0 && valid.cardinality() < inputs.size());
+        assertEquals(expected, RegexUtils.filterValid(inputs, RegexUtils.RegexConstants.TYPE_MOBILE_EXACT));
+        assertEquals(expected, RegexUtils.filterValid(new LinkedList<>(inputs),
+                RegexUtils.RegexConstants.REGEX_MOBILE_EXACT));
+        assertEquals(valid.get(0, 100),
+                RegexUtils.validate(inputs.subList(0, 100), RegexUtils.RegexConstants.REGEX_MOBILE_EXACT));
+    }
+
+    @Test
+    public void isIDCard18Exact() {
+        assertTrue(RegexUtils.isIDCard18Exact("11010519491231002X"));
+        assertTrue(RegexUtils.isIDCard18Exact("11010519491231002x"));
+        assertFalse(RegexUtils.isIDCard18Exact("110105194912310021"));
+        // 校验码正确但日期不存在
+        assertTrue(RegexUtils.isIDCard18("110105190002290017"));
+        assertFalse(RegexUtils.isIDCard18Exact("110105190002290017"));
+        assertFalse(RegexUtils.isIDCard18Exact(null));
+        assertFalse(RegexUtils.isIDCard18Exact("11010519491231002"));
+    }
+}
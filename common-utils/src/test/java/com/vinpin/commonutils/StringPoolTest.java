@@ -0,0 +1,35 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StringPoolTest {
+
+    @Test
+    public void get() {
+        StringPool pool = new StringPool(16);
+        String first = pool.get(new StringBuilder("深圳"));
+        assertEquals("深圳", first);
+        assertSame(first, pool.get("深圳"));
+        assertSame(first, pool.get("[深圳]", 1, 3));
+        assertSame(first, pool.get("城市深圳".toCharArray(), 2, 2));
+        assertNull(pool.get(null));
+        assertEquals(3, pool.hitCount());
+        assertEquals(1, pool.missCount());
+        assertEquals(1, pool.size());
+    }
+
+    @Test
+    public void eviction() {
+        StringPool pool = new StringPool(16);
+        assertEquals(16, pool.maxSize());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(String.valueOf(i), pool.get(String.valueOf(i)));
+        }
+        assertTrue(pool.size() <= pool.maxSize());
+        assertEquals(1000 - pool.size(), pool.evictionCount());
+        pool.clear();
+        assertEquals(0, pool.size());
+    }
+}
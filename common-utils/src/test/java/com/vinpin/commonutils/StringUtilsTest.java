@@ -0,0 +1,179 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class StringUtilsTest {
+
+    private static final String[] CHARSETS = {"UTF-8", "UTF-16", "UTF-16LE", "GBK", "GB18030", "ISO-8859-1", "US-ASCII"};
+
+    /**
+     * 随机生成包含ASCII、拉丁、汉字、生僻字、emoji及不成对代理字符的字符串
+     */
+    private static String randomText(Random random, int length) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < length) {
+            switch (random.nextInt(7)) {
+                case 0:
+                    sb.append((char) (0x20 + random.nextInt(0x5f)));
+                    break;
+                case 1:
+                    sb.append((char) (0x80 + random.nextInt(0x700)));
+                    break;
+                case 2:
+                    sb.append((char) (0x4e00 + random.nextInt(0x51a6)));
+                    break;
+                case 3:
+                    sb.append((char) (0x800 + random.nextInt(0xd000)));
+                    break;
+                case 4:
+                    sb.appendCodePoint(0x1f600 + random.nextInt(0x50));
+                    break;
+                case 5:
+                    sb.append('€');
+                    break;
+                default:
+                    sb.append((char) (Character.MIN_SURROGATE + random.nextInt(0x800)));
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void subStr() {
+        Charset utf8 = Charset.forName("UTF-8");
+        assertEquals("", StringUtils.subStr(null, 3));
+        assertEquals("ab", StringUtils.subStr("ab", 3, utf8));
+        assertEquals("a中", StringUtils.subStr("a中文", 5, utf8));
+        assertEquals("a", StringUtils.subStr("a中文", 3, utf8));
+        assertEquals("a…", StringUtils.subStr("a中文", 6, utf8, "…"));
+        assertEquals("a中文", StringUtils.subStr("a中文", 7, utf8, "…"));
+        assertEquals("😀", StringUtils.subStr("😀😀", 5, utf8));
+        assertEquals("", StringUtils.subStr("😀", 3, utf8));
+        assertEquals("a中", StringUtils.subStr("a中文", 3, Charset.forName("GBK")));
+    }
+
+    @Test
+    public void subStrSameAsGetBytes() {
+        Random random = new Random(20161018);
+        for (String name : CHARSETS) {
+            Charset charset = Charset.forName(name);
+            for (int i = 0; i < 300; i++) {
+                String text = randomText(random, random.nextInt(40));
+                int maxBytes = random.nextInt(100);
+                String result = StringUtils.subStr(text, maxBytes, charset);
+                assertTrue(text.startsWith(result));
+                assertTrue(result.getBytes(charset).length <= maxBytes);
+                if (result.length() < text.length()) {
+                    // 多截取一个码点就会超出
+                    int next = result.length() + Character.charCount(text.codePointAt(result.length()));
+                    assertTrue(text.substring(0, next).getBytes(charset).length > maxBytes);
+                }
+                String ellipsis = StringUtils.subStr(text, maxBytes, charset, "...");
+                assertTrue(ellipsis.getBytes(charset).length <= maxBytes);
+            }
+        }
+    }
+
+    @Test
+    public void charsetLength() {
+        Random random = new Random(20161018);
+        for (String name : CHARSETS) {
+            Charset charset = Charset.forName(name);
+            int kind = CharsetLength.kindOf(charset);
+            assertNotEquals(CharsetLength.KIND_OTHER, kind);
+            for (int c = 0; c < 0x10000; c++) {
+                if (c < Character.MIN_SURROGATE || c > Character.MAX_SURROGATE) {
+                    assertEquals(name + " " + c, String.valueOf((char) c).getBytes(charset).length,
+                            CharsetLength.of(kind, charset, c) + CharsetLength.overhead(kind));
+                }
+            }
+            for (int i = 0; i < 300; i++) {
+                String text = randomText(random, 1 + random.nextInt(40));
+                int length = CharsetLength.overhead(kind);
+                for (int j = 0; j < text.length(); ) {
+                    int cp = text.codePointAt(j);
+                    length += CharsetLength.of(kind, charset, cp);
+                    j += Character.charCount(cp);
+                }
+                assertEquals(name, text.getBytes(charset).length, length);
+            }
+        }
+    }
+
+    @Test
+    public void otherCharsetLength() {
+        Random random = new Random(20161018);
+        for (String name : new String[]{"Shift_JIS", "windows-1252", "UTF-32", "Big5"}) {
+            Charset charset = Charset.forName(name);
+            assertEquals(CharsetLength.KIND_OTHER, CharsetLength.kindOf(charset));
+            for (int i = 0; i < 300; i++) {
+                // 超过编码缓冲区的长文本需分段计数
+                String text = randomText(random, 1 + random.nextInt(i % 10 == 0 ? 400 : 40));
+                int expected = text.getBytes(charset).length;
+                assertEquals(name, expected, StringUtils.getStringBytes(text, charset));
+                assertTrue(name, StringUtils.isBytesWithin(text, expected, charset));
+                assertFalse(name, StringUtils.isBytesWithin(text, expected - 1, charset));
+            }
+        }
+    }
+
+    @Test
+    public void getStringBytes() {
+        assertEquals(-1, StringUtils.getStringBytes(null));
+        Random random = new Random(20161018);
+        for (String name : CHARSETS) {
+            Charset charset = Charset.forName(name);
+            assertEquals(0, StringUtils.getStringBytes("", charset));
+            for (int i = 0; i < 300; i++) {
+                String text = randomText(random, random.nextInt(40));
+                int bytes = text.getBytes(charset).length;
+                assertEquals(name, bytes, StringUtils.getStringBytes(text, charset));
+                assertTrue(StringUtils.isBytesWithin(text, bytes, charset));
+                assertFalse(bytes > 0 && StringUtils.isBytesWithin(text, bytes - 1, charset));
+            }
+        }
+    }
+
+    @Test
+    public void trim() {
+        assertTrue(StringUtils.isTrimEmpty((String) null));
+        assertTrue(StringUtils.isTrimEmpty(" \t\n"));
+        assertFalse(StringUtils.isTrimEmpty(new StringBuilder(" a ")));
+        assertEquals(1, StringUtils.trimStart(" a ", 0, 3));
+        assertEquals(2, StringUtils.trimEnd(" a ", 0, 3));
+    }
+
+    @Test
+    public void splitter() {
+        StringUtils.Splitter splitter = StringUtils.splitter(',');
+        assertTokens(splitter.reset("a,,b,"), "a", "", "b", "");
+        assertTokens(splitter.reset(""), "");
+        assertTokens(splitter.reset(null));
+        assertTokens(StringUtils.splitter(", ").reset(new StringBuilder("a, b, c")), "a", "b", "c");
+        assertTokens(StringUtils.splitter(',').trimResults().omitEmpty().reset(" a , ,b ,"), "a", "b");
+        assertTokens(splitter.reset("x,a,b,y", 2, 5), "a", "b");
+        int[] offsets = new int[6];
+        assertEquals(3, StringUtils.split("ab,c,", ',', offsets));
+        assertArrayEquals(new int[]{0, 2, 3, 4, 5, 5}, offsets);
+        assertTrue(StringUtils.startsWith(new StringBuilder("abc"), "ab"));
+        assertTrue(StringUtils.endsWith("abc", new StringBuilder("bc")));
+        assertFalse(StringUtils.endsWith("c", "bc"));
+        assertTrue(StringUtils.contains("abcabd", "abd"));
+        assertEquals(-1, StringUtils.indexOf("abc", "abcd", 0));
+        assertTrue(StringUtils.contentEquals("abc", new StringBuilder("abc")));
+    }
+
+    private static void assertTokens(StringUtils.Splitter splitter, String... expected) {
+        int i = 0;
+        while (splitter.next()) {
+            assertEquals(expected[i++], splitter.token().toString());
+        }
+        assertEquals(expected.length, i);
+    }
+}
@@ -0,0 +1,67 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class TimeBucketsTest {
+
+    @Test
+    public void toBucket() {
+        Random random = new Random(20161018);
+        for (String id : new String[]{"UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe"}) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            TimeBuckets buckets = TimeBuckets.getInstance(zone);
+            Calendar calendar = Calendar.getInstance(zone);
+            for (int i = 0; i < 5000; i++) {
+                long millis = (long) (random.nextDouble() * 4102444800000L);
+                calendar.setTimeInMillis(millis);
+                int year = calendar.get(Calendar.YEAR);
+                int month = calendar.get(Calendar.MONTH);
+                long epochDay = FastTimeFormat.toEpochDay(year, month + 1, calendar.get(Calendar.DAY_OF_MONTH));
+                assertEquals(epochDay, buckets.toEpochDay(millis));
+                assertEquals((year - 1970) * 12L + month, buckets.toEpochMonth(millis));
+                // 同一周的周一编号相同
+                int daysFromMonday = (calendar.get(Calendar.DAY_OF_WEEK) + 5) % 7;
+                assertEquals(FastTimeFormat.floorDiv(epochDay - daysFromMonday + 3, 7), buckets.toEpochWeek(millis));
+                assertEquals(0, (epochDay - daysFromMonday + 3) % 7);
+            }
+        }
+    }
+
+    @Test
+    public void group() {
+        TimeBuckets buckets = TimeBuckets.getInstance(TimeZone.getTimeZone("Asia/Shanghai"));
+        // 2016-08-12 15:44、2016-08-12 23:59、2016-08-13 00:00、2016-08-15 09:00
+        long[] millis = {1470987840000L, 1471017540000L, 1471017600000L, 1471222800000L};
+        assertArrayEquals(new int[]{0, 2, 3, 4}, buckets.group(millis, TimeBuckets.BUCKET_DAY));
+        assertArrayEquals(new int[]{0, 3, 4}, buckets.group(millis, TimeBuckets.BUCKET_WEEK));
+        assertArrayEquals(new int[]{0, 4}, buckets.group(millis, TimeBuckets.BUCKET_MONTH));
+        assertArrayEquals(new int[]{0}, buckets.group(new long[0], TimeBuckets.BUCKET_DAY));
+    }
+
+    @Test
+    public void defaultInstanceFollowsRefresh() {
+        TimeZone original = TimeZone.getDefault();
+        // 1970-01-01 20:00 UTC，上海已是1月2日
+        long millis = 72000000L;
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            TimeUtils.refreshTimeZone();
+            TimeBuckets buckets = TimeBuckets.getInstance();
+            assertSame(buckets, TimeBuckets.getInstance());
+            assertEquals(0L, buckets.toEpochDay(millis));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            TimeUtils.refreshTimeZone();
+            assertEquals(1L, TimeBuckets.getInstance().toEpochDay(millis));
+        } finally {
+            TimeZone.setDefault(original);
+            TimeUtils.refreshTimeZone();
+        }
+    }
+}
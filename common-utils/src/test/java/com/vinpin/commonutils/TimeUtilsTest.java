@@ -0,0 +1,111 @@
+package com.vinpin.commonutils;
+
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+public class TimeUtilsTest {
+
+    @Test
+    public void followsDefaultTimeZone() {
+        TimeZone original = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            TimeUtils.refreshTimeZone();
+            // 快速解析与SimpleDateFormat宽松解析（单位数的月份）
+            assertEquals(-28800000L, TimeUtils.stringToLong("1970-01-01 00:00", "yyyy-MM-dd HH:mm"));
+            assertEquals(-28800000L, TimeUtils.stringToLong("1970-1-1 00:00", "yyyy-MM-dd HH:mm"));
+            assertEquals("1970-01-01 08:00", TimeUtils.getStandardTime(0L));
+            assertEquals("1970-01-01 08:00", TimeUtils.dateToString(new Date(0), "yyyy-MM-dd HH:mm"));
+
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            TimeUtils.refreshTimeZone();
+            assertEquals(0L, TimeUtils.stringToLong("1970-01-01 00:00", "yyyy-MM-dd HH:mm"));
+            assertEquals(0L, TimeUtils.stringToLong("1970-1-1 00:00", "yyyy-MM-dd HH:mm"));
+            assertEquals("1970-01-01 00:00", TimeUtils.getStandardTime(0L));
+            assertEquals("1970-01-01 00:00", TimeUtils.dateToString(new Date(0), "yyyy-MM-dd HH:mm"));
+        } finally {
+            TimeZone.setDefault(original);
+            TimeUtils.refreshTimeZone();
+        }
+    }
+
+    @Test
+    public void friendlyTimeFollowsDefaultTimeZone() {
+        TimeZone original = TimeZone.getDefault();
+        // 2016-08-12 02:00 UTC与2016-08-11 20:00 UTC
+        long now = 1470967200000L;
+        long millis = 1470945600000L;
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+            TimeUtils.refreshTimeZone();
+            assertEquals("04:00", TimeUtils.getFriendlyTime(millis, now));
+            TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+            TimeUtils.refreshTimeZone();
+            assertEquals("昨天 20:00", TimeUtils.getFriendlyTime(millis, now));
+        } finally {
+            TimeZone.setDefault(original);
+            TimeUtils.refreshTimeZone();
+        }
+    }
+
+    @Test
+    public void friendlyTimeSameAsCalendar() {
+        TimeZone original = TimeZone.getDefault();
+        String[] weekDays = {"星期日", "星期一", "星期二", "星期三", "星期四", "星期五", "星期六"};
+        Random random = new Random(5);
+        try {
+            for (String id : new String[]{"UTC", "Asia/Shanghai", "America/New_York", "Australia/Lord_Howe"}) {
+                TimeZone zone = TimeZone.getTimeZone(id);
+                TimeZone.setDefault(zone);
+                TimeUtils.refreshTimeZone();
+                SimpleDateFormat hm = new SimpleDateFormat("HH:mm", Locale.US);
+                SimpleDateFormat md = new SimpleDateFormat("MM-dd", Locale.US);
+                SimpleDateFormat ymd = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+                for (int i = 0; i < 2000; i++) {
+                    long now = 946684800000L + (long) (random.nextDouble() * 1000L * 86400000L);
+                    long millis = now - 3600000L - (long) (random.nextDouble() * 400L * 86400000L);
+                    Calendar today = Calendar.getInstance(zone);
+                    today.setTimeInMillis(now);
+                    Calendar target = Calendar.getInstance(zone);
+                    target.setTimeInMillis(millis);
+                    Calendar start = Calendar.getInstance(zone);
+                    start.setTimeInMillis(now);
+                    start.set(Calendar.HOUR_OF_DAY, 0);
+                    start.set(Calendar.MINUTE, 0);
+                    start.set(Calendar.SECOND, 0);
+                    start.set(Calendar.MILLISECOND, 0);
+                    long todayStart = start.getTimeInMillis();
+                    start.add(Calendar.DAY_OF_MONTH, -1);
+                    long yesterdayStart = start.getTimeInMillis();
+                    start.setTimeInMillis(todayStart);
+                    start.add(Calendar.DAY_OF_MONTH, -((today.get(Calendar.DAY_OF_WEEK) + 5) % 7));
+                    long weekStart = start.getTimeInMillis();
+                    String expected;
+                    if (millis >= todayStart) {
+                        expected = hm.format(millis);
+                    } else if (millis >= yesterdayStart) {
+                        expected = "昨天 " + hm.format(millis);
+                    } else if (millis >= weekStart) {
+                        expected = weekDays[target.get(Calendar.DAY_OF_WEEK) - 1];
+                    } else if (target.get(Calendar.YEAR) == today.get(Calendar.YEAR)) {
+                        expected = md.format(millis);
+                    } else {
+                        expected = ymd.format(millis);
+                    }
+                    assertEquals(id + " " + millis + " " + now, expected, TimeUtils.getFriendlyTime(millis, now));
+                }
+            }
+        } finally {
+            TimeZone.setDefault(original);
+            TimeUtils.refreshTimeZone();
+        }
+    }
+}